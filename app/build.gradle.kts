@@ -1,5 +1,11 @@
+import groovy.json.JsonSlurper
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.util.zip.ZipFile
+
 plugins {
     alias(libs.plugins.android.application)
+    alias(libs.plugins.androidx.baselineprofile)
 }
 
 android {
@@ -14,16 +20,45 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+        // TraceSection 구간 기록 여부 (debug 와 benchmark 에서만 켬)
+        buildConfigField("boolean", "TRACE_SECTIONS", "false")
     }
 
     buildTypes {
+        debug {
+            buildConfigField("boolean", "TRACE_SECTIONS", "true")
+        }
         release {
-            isMinifyEnabled = false
+            // R8 full mode (gradle.properties) 로 코드와 리소스를 함께 축소
+            isMinifyEnabled = true
+            isShrinkResources = true
+            // proguard-release.pro 는 TraceSection 호출을 제거
             proguardFiles(
                 getDefaultProguardFile("proguard-android-optimize.txt"),
-                "proguard-rules.pro"
+                "proguard-rules.pro",
+                "proguard-release.pro"
             )
         }
+        // :benchmark 모듈이 측정하는 릴리스 동등 빌드 (디버그 키로 서명)
+        // Perfetto 로 잰 시간이 실제에 가까운 유일한 빌드이므로 TraceSection 구간은 남긴다
+        create("benchmark") {
+            initWith(getByName("release"))
+            setProguardFiles(listOf(
+                getDefaultProguardFile("proguard-android-optimize.txt"),
+                "proguard-rules.pro"
+            ))
+            buildConfigField("boolean", "TRACE_SECTIONS", "true")
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+        }
+        // 축소하지 않은 릴리스 동등 빌드 (apkSizeReport 와 시작 시간 비교 기준)
+        create("unminified") {
+            initWith(getByName("release"))
+            isMinifyEnabled = false
+            isShrinkResources = false
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+        }
     }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_1_8
@@ -31,11 +66,16 @@ android {
     }
     buildFeatures {
         viewBinding = true
+        buildConfig = true
+    }
+    testOptions {
+        unitTests {
+            isIncludeAndroidResources = true
+        }
     }
 }
 
 dependencies {
-    implementation("com.github.PhilJay:MPAndroidChart:v3.1.0")
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.constraintlayout)
@@ -43,7 +83,84 @@ dependencies {
     implementation(libs.lifecycle.viewmodel.ktx)
     implementation(libs.navigation.fragment)
     implementation(libs.navigation.ui)
+    // 설치 시 baseline profile 을 미리 컴파일
+    implementation(libs.profileinstaller)
+    // 디버그 빌드의 시스템 트레이스 구간 (TraceSection)
+    implementation(libs.tracing)
+    baselineProfile(project(":baselineprofile"))
     testImplementation(libs.junit)
+    testImplementation(libs.robolectric)
+    testImplementation(libs.test.core)
+    // StatsChartView 렌더링 벤치마크의 비교 대상
+    testImplementation(libs.mpandroidchart)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
+
+// release 와 unminified 빌드의 APK 크기, dex 메서드 수와 시작 시간을 build/reports/apk-size/report.txt 에 기록
+// 시작 시간은 :benchmark:connectedBenchmarkAndroidTest / connectedUnminifiedAndroidTest 결과가 있을 때만 포함
+tasks.register("apkSizeReport") {
+    dependsOn("assembleRelease", "assembleUnminified")
+    val apkRoot = layout.buildDirectory.dir("outputs/apk")
+    val benchmarkOutput = rootProject.layout.projectDirectory
+        .dir("benchmark/build/outputs/connected_android_test_additional_output")
+    val reportFile = layout.buildDirectory.file("reports/apk-size/report.txt")
+    outputs.file(reportFile)
+    outputs.upToDateWhen { false }
+
+    doLast {
+        val lines = mutableListOf<String>()
+        for ((buildType, benchmarkVariant) in listOf("release" to "benchmark", "unminified" to "unminified")) {
+            val apk = apkRoot.get().dir(buildType).asFile.walk().firstOrNull { it.extension == "apk" }
+                ?: throw GradleException("No APK found for $buildType")
+            val (dexFiles, methods) = dexMethodCount(apk)
+            lines += "%-10s apk=%,d bytes  dex files=%d  method refs=%,d".format(
+                buildType, apk.length(), dexFiles, methods)
+            lines += "%-10s startup: %s".format(
+                "", startupSummary(benchmarkOutput.asFile.resolve("${benchmarkVariant}AndroidTest")))
+        }
+        val report = reportFile.get().asFile
+        report.parentFile.mkdirs()
+        report.writeText(lines.joinToString("\n", postfix = "\n"))
+        lines.forEach { println(it) }
+    }
+}
+
+// APK 안의 classes*.dex 헤더에서 method_ids_size(0x58) 를 읽어 합산
+fun dexMethodCount(apk: File): Pair<Int, Long> {
+    var dexFiles = 0
+    var methods = 0L
+    ZipFile(apk).use { zip ->
+        for (entry in zip.entries()) {
+            if (!entry.name.matches(Regex("classes\\d*\\.dex"))) {
+                continue
+            }
+            val header = ByteArray(0x5C)
+            zip.getInputStream(entry).use { input ->
+                var read = 0
+                while (read < header.size) {
+                    val n = input.read(header, read, header.size - read)
+                    if (n < 0) break
+                    read += n
+                }
+            }
+            methods += ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getInt(0x58).toLong() and 0xffffffffL
+            dexFiles++
+        }
+    }
+    return dexFiles to methods
+}
+
+// 매크로벤치마크 결과 JSON 에서 시작 시간 중앙값 요약
+@Suppress("UNCHECKED_CAST")
+fun startupSummary(outputDir: File): String {
+    val result = outputDir.walk().firstOrNull { it.name.endsWith("benchmarkData.json") }
+        ?: return "n/a (run the :benchmark module first)"
+    val json = JsonSlurper().parse(result) as Map<String, Any?>
+    val benchmarks = json["benchmarks"] as List<Map<String, Any?>>
+    return benchmarks.joinToString("; ") { benchmark ->
+        val metrics = benchmark["metrics"] as Map<String, Map<String, Any?>>
+        "${benchmark["name"]} ttid=${metrics["timeToInitialDisplayMs"]?.get("median")} ms" +
+            " ttfd=${metrics["timeToFullDisplayMs"]?.get("median")} ms"
+    }
+}
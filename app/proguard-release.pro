@@ -0,0 +1,9 @@
+# release 빌드 전용 규칙 (benchmark 빌드는 포함하지 않음)
+
+# ---- Trace sections ----
+# TraceSection 호출을 통째로 제거 (구간 이름은 문자열 상수라 남는 코드가 없음)
+# benchmark 빌드는 Perfetto 측정을 위해 구간을 남기고, unminified 빌드는 TRACE_SECTIONS 가 false 라 기록하지 않는다
+-assumenosideeffects class com.example.pomodorotimerapp.metrics.TraceSection {
+    public static void begin(java.lang.String);
+    public static void end();
+}
@@ -18,4 +18,12 @@
 
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+#-renamesourcefileattribute SourceFile
+
+# ---- View binding ----
+# 바인딩 클래스는 inflate()/bind() 를 직접 호출하고 내부에서 findViewById 만 사용하므로
+# 리플렉션 대상이 없어 별도 규칙이 필요하지 않다
+
+# 릴리스 크래시 스택을 매핑 파일로 복원할 수 있도록 줄 번호 유지
+-keepattributes SourceFile,LineNumberTable
+-renamesourcefileattribute SourceFile
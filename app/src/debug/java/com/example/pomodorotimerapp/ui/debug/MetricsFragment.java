@@ -0,0 +1,77 @@
+package com.example.pomodorotimerapp.ui.debug;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.fragment.app.Fragment;
+
+import com.example.pomodorotimerapp.databinding.FragmentMetricsBinding;
+import com.example.pomodorotimerapp.metrics.Counter;
+import com.example.pomodorotimerapp.metrics.Histogram;
+import com.example.pomodorotimerapp.metrics.Metrics;
+
+import java.util.List;
+import java.util.Locale;
+
+// 디버그 빌드 전용 지표 화면 (src/debug 소스 세트에만 있어 릴리스 APK 에는 포함되지 않음)
+// 카운터 값과 히스토그램 분위수를 보여 주고, 오프라인 분석용 JSON 덤프를 공유한다
+public class MetricsFragment extends Fragment {
+    private FragmentMetricsBinding binding;
+
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
+        binding = FragmentMetricsBinding.inflate(inflater, container, false);
+
+        binding.buttonRefreshMetrics.setOnClickListener(v -> render());
+        binding.buttonResetMetrics.setOnClickListener(v -> {
+            Metrics.reset();
+            render();
+        });
+        binding.buttonShareMetrics.setOnClickListener(v -> shareJson());
+
+        return binding.getRoot();
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        render();
+    }
+
+    private void render() {
+        StringBuilder text = new StringBuilder(2048);
+        List<Histogram> histograms = Metrics.histograms();
+        for (int i = 0; i < histograms.size(); i++) {
+            Histogram histogram = histograms.get(i);
+            Histogram.Snapshot snapshot = histogram.snapshot();
+            text.append(histogram.name).append(" (").append(histogram.unit).append(")\n")
+                    .append(String.format(Locale.US, "  n=%d  mean=%.1f  p50=%d  p90=%d  p99=%d  max=%d\n",
+                            snapshot.count, snapshot.mean(), snapshot.percentile(0.5),
+                            snapshot.percentile(0.9), snapshot.percentile(0.99), snapshot.max));
+        }
+        List<Counter> counters = Metrics.counters();
+        for (int i = 0; i < counters.size(); i++) {
+            Counter counter = counters.get(i);
+            text.append(counter.name).append(": ").append(counter.get()).append('\n');
+        }
+        binding.textMetrics.setText(text);
+    }
+
+    private void shareJson() {
+        Intent intent = new Intent(Intent.ACTION_SEND)
+                .setType("application/json")
+                .putExtra(Intent.EXTRA_SUBJECT, "pomodoro-metrics.json")
+                .putExtra(Intent.EXTRA_TEXT, Metrics.toJson());
+        startActivity(Intent.createChooser(intent, "지표 JSON 공유"));
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        binding = null;
+    }
+}
@@ -1,21 +1,38 @@
 package com.example.pomodorotimerapp;
 
+import android.content.BroadcastReceiver;
 import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.RectF;
+import android.os.PowerManager;
+import android.os.SystemClock;
 import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.Display;
 import android.view.View;
 
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+
+import com.example.pomodorotimerapp.metrics.TraceSection;
+
 public class CircularTimerView extends View {
+    private static final long DEFAULT_FRAME_INTERVAL_NANOS = 1_000_000_000L / 60;
+
     // 배경과 진행 상황을 그리기 위한 Paint 객체
     private Paint backgroundPaint;
     private Paint progressPaint;
 
-    // 외부 및 내부 원을 그리기 위한 RectF 객체
-    private RectF outerRectF;
-    private RectF innerRectF;
+    // 진행 호를 그릴 사각형 (링 두께의 가운데를 지나는 원)
+    private RectF arcRectF;
+
+    // 배경 링은 크기나 색이 바뀔 때만 비트맵에 미리 그려 두고 매 프레임에는 비트맵만 복사
+    private Bitmap ringBitmap;
 
     // 진행 상황을 나타내는 변수 (0에서 1 사이의 값)
     private float progress = 0;
@@ -31,6 +48,27 @@ public class CircularTimerView extends View {
     // 마지막으로 그린 초를 저장 (불필요한 리드로우 방지)
     private long lastSecond = -1;
 
+    // 마지막으로 invalidate 한 호의 각도와, 바깥 원 둘레에서 1px 에 해당하는 각도
+    // 각도 변화가 1px 미만이면 화면이 바뀌지 않으므로 다시 그리지 않는다
+    private float drawnSweepAngle = -1;
+    private float minSweepStep = 0;
+
+    // 애니메이션 모드: 매 vsync 마다 마감 시각(SystemClock.elapsedRealtime 기준)에서 진행률을 계산
+    // 뷰가 분리되었거나 보이지 않으면 프레임 콜백을 멈추고, 절전 모드에서는 updateTime 의 초 단위 갱신으로 돌아간다
+    private long animationDeadline = 0;
+    private boolean animating = false;
+    private boolean frameCallbackPosted = false;
+    private boolean attached = false;
+    private boolean powerSaveMode = false;
+    private final FrameCounter frameCounter = new FrameCounter(DEFAULT_FRAME_INTERVAL_NANOS);
+    private final Choreographer.FrameCallback frameCallback = this::onFrame;
+    private final BroadcastReceiver powerSaveReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            updatePowerSaveMode();
+        }
+    };
+
     // 생성자
     public CircularTimerView(Context context) {
         super(context);
@@ -46,53 +84,85 @@ public class CircularTimerView extends View {
     private void init() {
         // Paint 객체 초기화
         backgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        backgroundPaint.setStyle(Paint.Style.FILL);
+        backgroundPaint.setStyle(Paint.Style.STROKE);
 
+        // 진행 상황은 끝이 둥근 호 하나로 그림
         progressPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        progressPaint.setStyle(Paint.Style.FILL);
+        progressPaint.setStyle(Paint.Style.STROKE);
+        progressPaint.setStrokeCap(Paint.Cap.ROUND);
+        progressPaint.setColor(progressColor);
 
         // RectF 객체 초기화
-        outerRectF = new RectF();
-        innerRectF = new RectF();
+        arcRectF = new RectF();
     }
 
     // 뷰 크기가 변경될 때 호출되는 메서드
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
-        // 외부 원을 뷰 전체 크기로 설정
-        outerRectF.set(0, 0, w, h);
-        // 내부 원의 두께를 설정 (반지름의 1/2)
-        float thickness = Math.min(w, h) / 4f;
-        innerRectF.set(thickness, thickness, w - thickness, h - thickness);
+        // 링 두께는 반지름의 1/2, 호는 두께의 가운데를 지나도록 설정
+        float radius = Math.min(w, h) / 2f;
+        float ringThickness = radius / 2;
+        float arcRadius = radius - ringThickness / 2;
+        arcRectF.set(w / 2f - arcRadius, h / 2f - arcRadius, w / 2f + arcRadius, h / 2f + arcRadius);
+        backgroundPaint.setStrokeWidth(ringThickness);
+        progressPaint.setStrokeWidth(ringThickness);
+        minSweepStep = radius > 0 ? (float) (180 / (Math.PI * radius)) : 0;
+        drawnSweepAngle = -1;
+        rebuildRingBitmap();
+    }
+
+    // 배경 링 비트맵을 현재 크기와 배경색으로 다시 그림
+    private void rebuildRingBitmap() {
+        int w = getWidth();
+        int h = getHeight();
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+        if (ringBitmap == null || ringBitmap.getWidth() != w || ringBitmap.getHeight() != h) {
+            if (ringBitmap != null) {
+                ringBitmap.recycle();
+            }
+            ringBitmap = Bitmap.createBitmap(w, h, Bitmap.Config.ARGB_8888);
+        } else {
+            ringBitmap.eraseColor(Color.TRANSPARENT);
+        }
+        backgroundPaint.setColor(backgroundColor);
+        new Canvas(ringBitmap).drawOval(arcRectF, backgroundPaint);
     }
 
     // 뷰를 그리는 메서드
     @Override
     protected void onDraw(Canvas canvas) {
-        super.onDraw(canvas);
+        TraceSection.begin("CircularTimerView.onDraw");
+        try {
+            super.onDraw(canvas);
 
-        // 배경 원 그리기
-        backgroundPaint.setColor(backgroundColor);
-        canvas.drawCircle(outerRectF.centerX(), outerRectF.centerY(), outerRectF.width() / 2, backgroundPaint);
-
-        // 진행 상황 그리기
-        progressPaint.setColor(progressColor);
-        float sweepAngle = 360 * progress;
+            // 미리 그려 둔 배경 링 복사 (창에서 떨어질 때 해제했다면 다시 그림)
+            if (ringBitmap == null) {
+                rebuildRingBitmap();
+            }
+            if (ringBitmap != null) {
+                canvas.drawBitmap(ringBitmap, 0, 0, null);
+            }
 
-        // 외부 호 그리기
-        canvas.drawArc(outerRectF, -90, sweepAngle, true, progressPaint);
-
-        // 내부 원 그리기 (배경색)
-        canvas.drawCircle(innerRectF.centerX(), innerRectF.centerY(), innerRectF.width() / 2, backgroundPaint);
-
-        // 내부 호 그리기
-        canvas.drawArc(innerRectF, -90, sweepAngle, true, progressPaint);
+            // 진행 상황 호 그리기
+            float sweepAngle = 360 * progress;
+            if (sweepAngle > 0) {
+                canvas.drawArc(arcRectF, -90, sweepAngle, false, progressPaint);
+            }
+        } finally {
+            TraceSection.end();
+        }
     }
 
     // 남은 시간을 업데이트하고 뷰를 다시 그리는 메서드
     public void updateTime(long timeLeftInMillis) {
         this.timeLeftInMillis = timeLeftInMillis;
+        if (frameCallbackPosted) {
+            // 프레임 콜백이 진행률을 계산하는 중
+            return;
+        }
         long currentSecond = timeLeftInMillis / 1000;
 
         // 새로운 초가 시작될 때만 progress 업데이트
@@ -112,12 +182,141 @@ public class CircularTimerView extends View {
             this.progress = 1;
         }
 
-        invalidate(); // 뷰 다시 그리기
+        invalidateIfArcChanged();
+    }
+
+    // 그려지는 호가 실제로 달라질 때만 뷰 다시 그리기
+    private void invalidateIfArcChanged() {
+        float sweepAngle = 360 * progress;
+        if (drawnSweepAngle < 0 || Math.abs(sweepAngle - drawnSweepAngle) >= minSweepStep
+                || (progress >= 1 && drawnSweepAngle < 360)) {
+            drawnSweepAngle = sweepAngle;
+            invalidate();
+        }
+    }
+
+    // 마감 시각까지 매 프레임 부드럽게 진행률을 그리기 시작
+    public void startAnimation(long deadline) {
+        animationDeadline = deadline;
+        animating = true;
+        updateFrameCallback();
+    }
+
+    // 애니메이션 중지 (마지막으로 계산한 진행률은 그대로 유지)
+    public void stopAnimation() {
+        animating = false;
+        updateFrameCallback();
+    }
+
+    // 애니메이션 모드에서 처리한 프레임 수
+    public long getFrameCount() {
+        return frameCounter.getFrameCount();
+    }
+
+    // 연속으로 프레임을 요청한 구간에서 놓친 vsync 수
+    public long getDroppedFrameCount() {
+        return frameCounter.getDroppedFrameCount();
+    }
+
+    // 연속 프레임 사이의 최대 간격 (나노초)
+    public long getMaxFrameIntervalNanos() {
+        return frameCounter.getMaxFrameIntervalNanos();
+    }
+
+    public void resetFrameStats() {
+        frameCounter.reset();
+    }
+
+    private void onFrame(long frameTimeNanos) {
+        frameCallbackPosted = false;
+        frameCounter.onFrame(frameTimeNanos);
+        long remaining = Math.max(0, animationDeadline - SystemClock.elapsedRealtime());
+        progress = totalTimeInMillis > 0 ? 1 - (float) remaining / totalTimeInMillis : 1;
+        progress = Math.max(0, Math.min(1, progress));
+        invalidateIfArcChanged();
+        if (remaining > 0 && shouldAnimate()) {
+            postFrameCallback();
+        } else {
+            frameCounter.breakSequence();
+        }
+    }
+
+    private boolean shouldAnimate() {
+        return animating && attached && !powerSaveMode
+                && getWindowVisibility() == VISIBLE && isShown();
+    }
+
+    private void updateFrameCallback() {
+        boolean shouldAnimate = shouldAnimate();
+        if (shouldAnimate && !frameCallbackPosted) {
+            frameCounter.breakSequence();
+            postFrameCallback();
+        } else if (!shouldAnimate && frameCallbackPosted) {
+            Choreographer.getInstance().removeFrameCallback(frameCallback);
+            frameCallbackPosted = false;
+            // 초 단위 갱신으로 돌아갈 때 다음 tick 에서 진행률을 다시 계산
+            lastSecond = -1;
+        }
+    }
+
+    private void postFrameCallback() {
+        frameCallbackPosted = true;
+        Choreographer.getInstance().postFrameCallback(frameCallback);
+    }
+
+    private void updatePowerSaveMode() {
+        PowerManager powerManager = (PowerManager) getContext().getSystemService(Context.POWER_SERVICE);
+        powerSaveMode = powerManager != null && powerManager.isPowerSaveMode();
+        updateFrameCallback();
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        attached = true;
+        Display display = getDisplay();
+        if (display != null && display.getRefreshRate() > 0) {
+            frameCounter.setFrameIntervalNanos((long) (1_000_000_000L / display.getRefreshRate()));
+        }
+        ContextCompat.registerReceiver(getContext(), powerSaveReceiver,
+                new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED),
+                ContextCompat.RECEIVER_NOT_EXPORTED);
+        updatePowerSaveMode();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        attached = false;
+        getContext().unregisterReceiver(powerSaveReceiver);
+        updateFrameCallback();
+        // 화면 크기의 ARGB_8888 비트맵이므로 떨어진 뷰가 GC 전까지 붙들고 있지 않도록 바로 해제
+        if (ringBitmap != null) {
+            ringBitmap.recycle();
+            ringBitmap = null;
+        }
+        super.onDetachedFromWindow();
+    }
+
+    @Override
+    protected void onVisibilityChanged(@NonNull View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        if (attached) {
+            updateFrameCallback();
+        }
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        if (attached) {
+            updateFrameCallback();
+        }
     }
 
     // 타이머를 리셋하는 메서드
     public void reset() {
         this.progress = 0;
+        drawnSweepAngle = 0;
         invalidate();
     }
 
@@ -125,18 +324,22 @@ public class CircularTimerView extends View {
     public void setTotalTime(long totalTimeInMillis) {
         this.totalTimeInMillis = totalTimeInMillis;
         this.timeLeftInMillis = totalTimeInMillis;
+        lastSecond = -1;
+        drawnSweepAngle = -1;
         invalidate();
     }
 
     // 배경색을 설정하는 메서드
     public void setBackgroundColor(int color) {
         this.backgroundColor = color;
+        rebuildRingBitmap();
         invalidate();
     }
 
     // 진행 색상을 설정하는 메서드
     public void setProgressColor(int color) {
         this.progressColor = color;
+        progressPaint.setColor(color);
         invalidate();
     }
 }
\ No newline at end of file
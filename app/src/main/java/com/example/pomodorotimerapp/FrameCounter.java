@@ -0,0 +1,59 @@
+package com.example.pomodorotimerapp;
+
+// Choreographer 프레임 시각으로 그린 프레임 수, 놓친 프레임 수, 최대 프레임 간격을 센다
+// 프레임을 연속으로 요청한 구간에서만 간격을 비교하므로 일시 정지 후 재개는 누락으로 세지 않는다
+final class FrameCounter {
+    private long frameIntervalNanos;
+    private long lastFrameTimeNanos = -1;
+    private long frameCount = 0;
+    private long droppedFrameCount = 0;
+    private long maxFrameIntervalNanos = 0;
+
+    FrameCounter(long frameIntervalNanos) {
+        this.frameIntervalNanos = frameIntervalNanos;
+    }
+
+    void setFrameIntervalNanos(long frameIntervalNanos) {
+        if (frameIntervalNanos > 0) {
+            this.frameIntervalNanos = frameIntervalNanos;
+        }
+    }
+
+    void onFrame(long frameTimeNanos) {
+        frameCount++;
+        if (lastFrameTimeNanos >= 0) {
+            long interval = frameTimeNanos - lastFrameTimeNanos;
+            maxFrameIntervalNanos = Math.max(maxFrameIntervalNanos, interval);
+            // 간격을 가장 가까운 vsync 수로 반올림해서 그 사이 건너뛴 프레임 수를 더함
+            long skipped = (interval + frameIntervalNanos / 2) / frameIntervalNanos - 1;
+            if (skipped > 0) {
+                droppedFrameCount += skipped;
+            }
+        }
+        lastFrameTimeNanos = frameTimeNanos;
+    }
+
+    // 프레임 요청이 끊겼을 때 호출 (다음 프레임과의 간격은 비교하지 않음)
+    void breakSequence() {
+        lastFrameTimeNanos = -1;
+    }
+
+    void reset() {
+        lastFrameTimeNanos = -1;
+        frameCount = 0;
+        droppedFrameCount = 0;
+        maxFrameIntervalNanos = 0;
+    }
+
+    long getFrameCount() {
+        return frameCount;
+    }
+
+    long getDroppedFrameCount() {
+        return droppedFrameCount;
+    }
+
+    long getMaxFrameIntervalNanos() {
+        return maxFrameIntervalNanos;
+    }
+}
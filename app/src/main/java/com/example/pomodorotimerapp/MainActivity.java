@@ -1,17 +1,13 @@
 package com.example.pomodorotimerapp;
 
-import android.content.Context;
-import android.media.Ringtone;
-import android.media.RingtoneManager;
-import android.net.Uri;
+import android.Manifest;
+import android.content.pm.PackageManager;
 import android.os.Build;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.VibrationEffect;
-import android.os.Vibrator;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
 import androidx.drawerlayout.widget.DrawerLayout;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.NavController;
@@ -19,6 +15,8 @@ import androidx.navigation.Navigation;
 import androidx.navigation.ui.AppBarConfiguration;
 import androidx.navigation.ui.NavigationUI;
 
+import com.example.pomodorotimerapp.data.SettingsRepository;
+import com.example.pomodorotimerapp.data.StatsRepository;
 import com.example.pomodorotimerapp.databinding.ActivityMainBinding;
 import com.example.pomodorotimerapp.ui.home.HomeViewModel;
 import com.google.android.material.navigation.NavigationView;
@@ -29,6 +27,7 @@ public class MainActivity extends AppCompatActivity {
     private AppBarConfiguration mAppBarConfiguration;
     private ActivityMainBinding binding;
     private HomeViewModel homeViewModel;
+    private boolean fullyDrawnReported = false;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -44,8 +43,8 @@ public class MainActivity extends AppCompatActivity {
         // 네비게이션 드로어 설정
         DrawerLayout drawer = binding.drawerLayout;
         NavigationView navigationView = binding.navView;
-        mAppBarConfiguration = new AppBarConfiguration.Builder(
-                R.id.nav_home, R.id.nav_statistics, R.id.nav_setting)
+        // 서랍 메뉴의 항목이 모두 최상위 화면 (디버그 빌드의 메뉴에는 지표 화면이 더 있음)
+        mAppBarConfiguration = new AppBarConfiguration.Builder(navigationView.getMenu())
                 .setOpenableLayout(drawer)
                 .build();
         NavController navController = Navigation.findNavController(this, R.id.nav_host_fragment_content_main);
@@ -55,6 +54,28 @@ public class MainActivity extends AppCompatActivity {
         // HomeViewModel 초기화 및 알림 관찰
         homeViewModel = new ViewModelProvider(this).get(HomeViewModel.class);
         homeViewModel.getNotification().observe(this, this::showNotification);
+
+        // 저장된 설정이 반영된 타이머가 그려진 뒤를 시작 완료 시점으로 보고 (매크로벤치마크의 TTFD)
+        SettingsRepository.getInstance(this).getSettings().observe(this, settings -> {
+            if (!fullyDrawnReported) {
+                fullyDrawnReported = true;
+                binding.getRoot().post(this::reportFullyDrawn);
+            }
+        });
+
+        // 백그라운드 진행/종료 알림을 위한 권한 요청 (Android 13 이상)
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && ContextCompat.checkSelfPermission(this, Manifest.permission.POST_NOTIFICATIONS)
+                != PackageManager.PERMISSION_GRANTED) {
+            requestPermissions(new String[]{Manifest.permission.POST_NOTIFICATIONS}, 0);
+        }
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // 백그라운드로 가면 프로세스가 언제든 정리될 수 있으므로 모아 둔 세션 기록을 바로 커밋
+        StatsRepository.getInstance(this).flush();
     }
 
     @Override
@@ -64,28 +85,8 @@ public class MainActivity extends AppCompatActivity {
                 || super.onSupportNavigateUp();
     }
 
-    // 알림 표시 메서드
+    // 알림 표시 메서드 (소리와 진동은 HomeViewModel 이 마감 시각에 CompletionAlert 로 처리)
     private void showNotification(String message) {
-        // 소리 알림
-        try {
-            Uri notification = RingtoneManager.getDefaultUri(RingtoneManager.TYPE_NOTIFICATION);
-            Ringtone r = RingtoneManager.getRingtone(this, notification);
-            r.play();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        // 진동 알림
-        Vibrator vibrator = (Vibrator) getSystemService(Context.VIBRATOR_SERVICE);
-        if (vibrator != null && vibrator.hasVibrator()) {
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                vibrator.vibrate(VibrationEffect.createOneShot(1000, VibrationEffect.DEFAULT_AMPLITUDE));
-            } else {
-                vibrator.vibrate(1000);
-            }
-        }
-
-        // 토스트 메시지 표시
         Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.example.pomodorotimerapp;
+
+import android.app.Application;
+import android.os.StrictMode;
+
+import com.example.pomodorotimerapp.data.SettingsRepository;
+
+public class PomodoroApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // 디버그 빌드에서는 메인 스레드의 디스크 I/O 를 즉시 실패로 처리
+        if (BuildConfig.DEBUG) {
+            StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+                    .detectDiskReads()
+                    .detectDiskWrites()
+                    .penaltyLog()
+                    .penaltyDeath()
+                    .build());
+        }
+
+        // 첫 화면이 뜨는 동안 백그라운드에서 설정을 미리 읽어 둠
+        SettingsRepository.getInstance(this);
+    }
+}
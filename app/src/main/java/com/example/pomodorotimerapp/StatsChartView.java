@@ -0,0 +1,454 @@
+package com.example.pomodorotimerapp;
+
+import android.animation.ValueAnimator;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.util.AttributeSet;
+import android.view.GestureDetector;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.OverScroller;
+
+import androidx.annotation.NonNull;
+
+import com.example.pomodorotimerapp.data.EpochDays;
+import com.example.pomodorotimerapp.data.StatsGranularity;
+import com.example.pomodorotimerapp.metrics.Histogram;
+import com.example.pomodorotimerapp.metrics.Metrics;
+import com.example.pomodorotimerapp.metrics.TraceSection;
+
+import java.util.Arrays;
+
+// 집중/휴식/긴 휴식 횟수를 묶음 막대로 그리는 통계 차트
+// int[] 배열을 그대로 받아 그리며, 계열마다 Path 하나로 모아 drawPath 한 번에 그린다
+// 막대 묶음의 최소 폭을 유지하고 화면에 보이는 구간만 그리므로 365일처럼 긴 범위는 가로로 스크롤된다
+public class StatsChartView extends View {
+    private static final int SERIES = 3;
+    private static final int[] SERIES_COLORS = {Color.RED, Color.GREEN, Color.BLUE};
+    private static final String[] SERIES_LABELS = {"집중", "휴식", "긴 휴식"};
+    private static final int GRID_LINES = 4;
+    private static final long ANIMATION_DURATION = 300;
+    // 묶음 폭 대비 막대 하나의 폭 (막대 3개 + 양쪽 여백)
+    private static final float BAR_WIDTH_RATIO = 0.25f;
+    // onDraw 한 번에 걸린 시간 (애니메이션과 스크롤 중에는 프레임마다)
+    private static final Histogram DRAW_TIME =
+            Metrics.histogram("chart.draw", Metrics.UNIT_MICROS, Metrics.MICROS_BOUNDS);
+
+    private final Paint[] barPaints = new Paint[SERIES];
+    private final Path[] barPaths = new Path[SERIES];
+    private final Paint gridPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    // 축 숫자를 그릴 때 재사용하는 버퍼
+    private final char[] textBuffer = new char[11];
+
+    private final OverScroller scroller;
+    private final GestureDetector gestureDetector;
+    private final ValueAnimator animator = ValueAnimator.ofFloat(0, 1);
+
+    // 현재 데이터 (값 배열은 복사해 두고, 날짜 배열은 읽기만 하므로 넘겨받은 것을 그대로 씀)
+    private int count = 0;
+    private int[] epochDays = new int[0];
+    private final int[][] values = {new int[0], new int[0], new int[0]};
+    private int maxValue = 1;
+    // 묶음별 날짜 라벨 (setData 에서 단위에 맞춰 한 번 만들어 두고, 그릴 때는 읽기만 함)
+    // 일: "MM-dd", 주: 시작일 "MM-dd~", 월: "yyyy-MM", 연: "yyyy"
+    private char[] labels = new char[0];
+    private int labelLength = 0;
+
+    // 애니메이션 시작 시점의 값 (이전 데이터가 그려지던 높이)
+    private final float[][] fromValues = {new float[0], new float[0], new float[0]};
+    private float fromMaxValue = 1;
+    private float animationFraction = 1;
+
+    // 레이아웃 (px)
+    private final float density;
+    private final float minGroupWidth;
+    private float chartLeft;
+    private float chartTop;
+    private float chartRight;
+    private float chartBottom;
+    private float groupWidth;
+    private float scrollOffset = 0;
+    private int labelStep = 1;
+
+    public StatsChartView(Context context) {
+        this(context, null);
+    }
+
+    public StatsChartView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        density = getResources().getDisplayMetrics().density;
+        minGroupWidth = 24 * density;
+
+        for (int s = 0; s < SERIES; s++) {
+            barPaints[s] = new Paint(Paint.ANTI_ALIAS_FLAG);
+            barPaints[s].setColor(SERIES_COLORS[s]);
+            barPaths[s] = new Path();
+        }
+        gridPaint.setColor(Color.LTGRAY);
+        gridPaint.setStrokeWidth(density);
+        textPaint.setColor(Color.DKGRAY);
+        textPaint.setTextSize(11 * density);
+
+        scroller = new OverScroller(context);
+        gestureDetector = new GestureDetector(context, new GestureDetector.SimpleOnGestureListener() {
+            @Override
+            public boolean onDown(@NonNull MotionEvent e) {
+                scroller.forceFinished(true);
+                return true;
+            }
+
+            @Override
+            public boolean onScroll(MotionEvent e1, @NonNull MotionEvent e2, float distanceX, float distanceY) {
+                if (Math.abs(distanceX) > Math.abs(distanceY) && getParent() != null) {
+                    // 세로 ScrollView 안에서도 가로 스크롤을 차트가 처리
+                    getParent().requestDisallowInterceptTouchEvent(true);
+                }
+                setScrollOffset(scrollOffset + distanceX);
+                return true;
+            }
+
+            // 스크롤이나 플링 없이 손을 뗀 경우만 클릭 (접근성 서비스가 탭을 인식하도록)
+            @Override
+            public boolean onSingleTapUp(@NonNull MotionEvent e) {
+                performClick();
+                return true;
+            }
+
+            @Override
+            public boolean onFling(MotionEvent e1, @NonNull MotionEvent e2, float velocityX, float velocityY) {
+                scroller.fling((int) scrollOffset, 0, (int) -velocityX, 0, 0, (int) maxScrollOffset(), 0, 0);
+                postInvalidateOnAnimation();
+                return true;
+            }
+        });
+
+        animator.setDuration(ANIMATION_DURATION);
+        animator.addUpdateListener(animation -> {
+            animationFraction = (float) animation.getAnimatedValue();
+            invalidate();
+        });
+    }
+
+    // 새 데이터 표시: 지금 그려진 높이에서 새 높이로 애니메이션
+    // epochDays 는 granularity 단위 버킷의 첫 날
+    public void setData(int[] epochDays, int[] focus, int[] breaks, int[] longBreaks, int count,
+                        StatsGranularity granularity) {
+        int previousCount = this.count;
+        float previousMax = currentMaxValue();
+        for (int s = 0; s < SERIES; s++) {
+            if (fromValues[s].length < count) {
+                fromValues[s] = Arrays.copyOf(fromValues[s], count);
+            }
+            // 같은 인덱스를 읽고 쓰므로 제자리에서 현재 높이를 시작점으로 저장할 수 있음
+            for (int i = 0; i < count; i++) {
+                fromValues[s][i] = i < previousCount ? currentValue(s, i) : 0;
+            }
+        }
+        fromMaxValue = previousMax;
+
+        // setGroup 이 값을 고치므로 넘겨받은 배열(캐시와 공유될 수 있음)은 복사해 둠
+        this.epochDays = epochDays;
+        copyValues(0, focus, count);
+        copyValues(1, breaks, count);
+        copyValues(2, longBreaks, count);
+        this.count = count;
+        buildLabels(granularity);
+        maxValue = 1;
+        for (int s = 0; s < SERIES; s++) {
+            for (int i = 0; i < count; i++) {
+                maxValue = Math.max(maxValue, values[s][i]);
+            }
+        }
+
+        updateLayout();
+        if (count != previousCount) {
+            // 범위가 바뀌면 가장 최근 구간이 보이도록
+            scroller.forceFinished(true);
+            scrollOffset = maxScrollOffset();
+        }
+
+        restartAnimation();
+    }
+
+    // 묶음 하나만 바뀐 경우: 배열을 새로 받지 않고 해당 막대만 새 높이로 애니메이션
+    public void setGroup(int index, int focus, int breaks, int longBreaks) {
+        if (index < 0 || index >= count) {
+            return;
+        }
+        fromMaxValue = currentMaxValue();
+        for (int s = 0; s < SERIES; s++) {
+            for (int i = 0; i < count; i++) {
+                fromValues[s][i] = currentValue(s, i);
+            }
+        }
+        values[0][index] = focus;
+        values[1][index] = breaks;
+        values[2][index] = longBreaks;
+        maxValue = Math.max(maxValue, Math.max(focus, Math.max(breaks, longBreaks)));
+        restartAnimation();
+    }
+
+    private void buildLabels(StatsGranularity granularity) {
+        labelLength = labelLength(granularity);
+        if (labels.length < count * labelLength) {
+            labels = new char[count * labelLength];
+        }
+        for (int i = 0; i < count; i++) {
+            int day = epochDays[i];
+            int offset = i * labelLength;
+            switch (granularity) {
+                case YEAR:
+                    writeDigits(labels, offset, EpochDays.year(day), 4);
+                    break;
+                case MONTH:
+                    writeDigits(labels, offset, EpochDays.year(day), 4);
+                    labels[offset + 4] = '-';
+                    writeDigits(labels, offset + 5, EpochDays.month(day), 2);
+                    break;
+                default:
+                    writeDigits(labels, offset, EpochDays.month(day), 2);
+                    labels[offset + 2] = '-';
+                    writeDigits(labels, offset + 3, EpochDays.dayOfMonth(day), 2);
+                    if (granularity == StatsGranularity.WEEK) {
+                        labels[offset + 5] = '~';
+                    }
+                    break;
+            }
+        }
+    }
+
+    private static int labelLength(StatsGranularity granularity) {
+        switch (granularity) {
+            case WEEK:
+                return 6;
+            case MONTH:
+                return 7;
+            case YEAR:
+                return 4;
+            default:
+                return 5;
+        }
+    }
+
+    // 묶음 index 의 날짜 라벨 (테스트용)
+    String getLabel(int index) {
+        return new String(labels, index * labelLength, labelLength);
+    }
+
+    private void copyValues(int series, int[] source, int count) {
+        if (values[series].length < count) {
+            values[series] = new int[count];
+        }
+        System.arraycopy(source, 0, values[series], 0, count);
+    }
+
+    private void restartAnimation() {
+        animator.cancel();
+        animationFraction = 0;
+        animator.start();
+        invalidate();
+    }
+
+    // 애니메이션을 끝 값으로 바로 이동 (벤치마크/테스트용)
+    void skipAnimation() {
+        animator.end();
+    }
+
+    // 화면에 그려지는 첫/마지막 묶음 인덱스
+    int getFirstVisibleIndex() {
+        return groupWidth > 0 ? Math.max(0, (int) (scrollOffset / groupWidth)) : 0;
+    }
+
+    int getLastVisibleIndex() {
+        if (groupWidth <= 0) {
+            return count - 1;
+        }
+        return Math.min(count - 1, (int) ((scrollOffset + chartRight - chartLeft) / groupWidth));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateLayout();
+        scrollOffset = maxScrollOffset();
+    }
+
+    private void updateLayout() {
+        float textHeight = textPaint.getFontSpacing();
+        chartLeft = textPaint.measureText("0000") + 4 * density;
+        chartRight = getWidth();
+        // 위쪽은 범례, 아래쪽은 날짜 라벨 자리
+        chartTop = textHeight * 2;
+        chartBottom = getHeight() - textHeight * 1.5f;
+        float chartWidth = Math.max(0, chartRight - chartLeft);
+        groupWidth = count > 0 ? Math.max(minGroupWidth, chartWidth / count) : 0;
+        // 라벨이 겹치지 않도록 몇 묶음마다 하나씩 표시할지 계산
+        float labelWidth = (count > 0 ? textPaint.measureText(labels, 0, labelLength) : 0) + 8 * density;
+        labelStep = groupWidth > 0 ? Math.max(1, (int) Math.ceil(labelWidth / groupWidth)) : 1;
+        scrollOffset = Math.min(scrollOffset, maxScrollOffset());
+    }
+
+    private float maxScrollOffset() {
+        return Math.max(0, groupWidth * count - (chartRight - chartLeft));
+    }
+
+    private void setScrollOffset(float offset) {
+        float clamped = Math.max(0, Math.min(offset, maxScrollOffset()));
+        if (clamped != scrollOffset) {
+            scrollOffset = clamped;
+            invalidate();
+        }
+    }
+
+    private float currentValue(int series, int index) {
+        float from = fromValues[series][index];
+        return from + (values[series][index] - from) * animationFraction;
+    }
+
+    private float currentMaxValue() {
+        return fromMaxValue + (maxValue - fromMaxValue) * animationFraction;
+    }
+
+    // 탭은 gestureDetector 의 onSingleTapUp 에서 performClick 으로 전달
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        return gestureDetector.onTouchEvent(event) || super.onTouchEvent(event);
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();
+    }
+
+    @Override
+    public void computeScroll() {
+        if (scroller.computeScrollOffset()) {
+            setScrollOffset(scroller.getCurrX());
+            postInvalidateOnAnimation();
+        }
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        TraceSection.begin("StatsChartView.onDraw");
+        try {
+            super.onDraw(canvas);
+            long start = System.nanoTime();
+            drawChart(canvas);
+            DRAW_TIME.recordSince(start);
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    private void drawChart(Canvas canvas) {
+        drawLegend(canvas);
+        float max = currentMaxValue();
+        drawGrid(canvas, max);
+        if (count == 0 || chartBottom <= chartTop) {
+            return;
+        }
+
+        int first = getFirstVisibleIndex();
+        int last = getLastVisibleIndex();
+        float chartHeight = chartBottom - chartTop;
+        float barWidth = groupWidth * BAR_WIDTH_RATIO;
+        float groupPadding = (groupWidth - barWidth * SERIES) / 2;
+
+        for (int s = 0; s < SERIES; s++) {
+            barPaths[s].rewind();
+        }
+        // 보이는 구간의 막대만 계열별 Path 에 모음
+        for (int i = first; i <= last; i++) {
+            float x = chartLeft + i * groupWidth - scrollOffset + groupPadding;
+            for (int s = 0; s < SERIES; s++) {
+                float value = currentValue(s, i);
+                if (value > 0) {
+                    float top = chartBottom - value / max * chartHeight;
+                    barPaths[s].addRect(x, top, x + barWidth, chartBottom, Path.Direction.CW);
+                }
+                x += barWidth;
+            }
+        }
+
+        canvas.save();
+        canvas.clipRect(chartLeft, 0, chartRight, getHeight());
+        for (int s = 0; s < SERIES; s++) {
+            canvas.drawPath(barPaths[s], barPaints[s]);
+        }
+        drawDateLabels(canvas, first, last);
+        canvas.restore();
+    }
+
+    private void drawLegend(Canvas canvas) {
+        float size = textPaint.getTextSize();
+        float x = chartLeft;
+        float baseline = size * 1.2f;
+        for (int s = 0; s < SERIES; s++) {
+            canvas.drawRect(x, baseline - size, x + size, baseline, barPaints[s]);
+            x += size * 1.4f;
+            canvas.drawText(SERIES_LABELS[s], x, baseline, textPaint);
+            x += textPaint.measureText(SERIES_LABELS[s]) + size * 1.4f;
+        }
+    }
+
+    // 가로 격자선과 왼쪽 축 값
+    private void drawGrid(Canvas canvas, float max) {
+        float chartHeight = chartBottom - chartTop;
+        textPaint.setTextAlign(Paint.Align.RIGHT);
+        for (int line = 0; line <= GRID_LINES; line++) {
+            float y = chartBottom - chartHeight * line / GRID_LINES;
+            canvas.drawLine(chartLeft, y, chartRight, y, gridPaint);
+            int length = formatInt(Math.round(max * line / GRID_LINES), textBuffer);
+            canvas.drawText(textBuffer, 0, length, chartLeft - 2 * density,
+                    y + textPaint.getTextSize() / 3, textPaint);
+        }
+        textPaint.setTextAlign(Paint.Align.LEFT);
+    }
+
+    private void drawDateLabels(Canvas canvas, int first, int last) {
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        float baseline = getHeight() - textPaint.getTextSize() * 0.4f;
+        // 스크롤해도 라벨 위치가 흔들리지 않도록 전체 인덱스 기준으로 labelStep 간격 유지
+        int start = first - first % labelStep;
+        for (int i = start; i <= last; i += labelStep) {
+            float x = chartLeft + (i + 0.5f) * groupWidth - scrollOffset;
+            canvas.drawText(labels, i * labelLength, labelLength, x, baseline, textPaint);
+        }
+        textPaint.setTextAlign(Paint.Align.LEFT);
+    }
+
+    // 0 이상의 정수를 width 자리로 앞을 0 으로 채워 씀
+    private static void writeDigits(char[] out, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    // 0 이상의 정수를 버퍼에 쓰고 길이를 반환
+    private static int formatInt(int value, char[] out) {
+        int length = 0;
+        do {
+            out[length++] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            char tmp = out[i];
+            out[i] = out[j];
+            out[j] = tmp;
+        }
+        return length;
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        animator.cancel();
+        animationFraction = 1;
+        super.onDetachedFromWindow();
+    }
+}
@@ -1,132 +1,734 @@
 package com.example.pomodorotimerapp.data;
 
-import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 import android.util.Log;
 
+import com.example.pomodorotimerapp.metrics.TraceSection;
+
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
 public class DatabaseHelper extends SQLiteOpenHelper {
     private static final String DATABASE_NAME = "pomodoro.db";
-    private static final int DATABASE_VERSION = 1;
+    private static final int DATABASE_VERSION = 5;
     private static final String TABLE_STATS = "stats";
+    private static final String TABLE_SESSIONS = "sessions";
+    private static final String TABLE_ROLLUP = "stats_rollup";
+    private static final String TABLE_TOMBSTONES = "stats_tombstones";
+    private static final String TRIGGER_STATS_ROLLUP = "sessions_stats_rollup";
+    private static final String INDEX_SESSIONS_EPOCH_DAY = "sessions_epoch_day_idx";
     private static final String COLUMN_DATE = "date";
+    private static final String COLUMN_EPOCH_DAY = "epoch_day";
     private static final String COLUMN_FOCUS_COUNT = "focus_count";
     private static final String COLUMN_BREAK_COUNT = "break_count";
     private static final String COLUMN_LONG_BREAK_COUNT = "long_break_count";
+    private static final String COLUMN_GRANULARITY = "granularity";
+    private static final String COLUMN_BUCKET = "bucket";
+    private static final String COLUMN_ID = "_id";
+    private static final String COLUMN_START_TIME = "start_time";
+    private static final String COLUMN_END_TIME = "end_time";
+    private static final String COLUMN_TYPE = "type";
+    private static final String COLUMN_PLANNED_DURATION = "planned_duration";
+    private static final String COLUMN_ACTUAL_DURATION = "actual_duration";
+    private static final String COLUMN_FROM_DAY = "from_day";
+    private static final String COLUMN_TO_DAY = "to_day";
+    private static final String COLUMN_MAX_SESSION_ID = "max_session_id";
+    private static final String COLUMN_CREATED_AT = "created_at";
     private static final String TAG = "DatabaseHelper";
 
-    public DatabaseHelper(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    // 세션 종류 (sessions.type 컬럼 값)
+    public static final String TYPE_FOCUS = "focus";
+    public static final String TYPE_BREAK = "break";
+    public static final String TYPE_LONG_BREAK = "longBreak";
+
+    private static final String INSERT_SESSION = "INSERT INTO " + TABLE_SESSIONS + " ("
+            + COLUMN_START_TIME + ", " + COLUMN_END_TIME + ", " + COLUMN_EPOCH_DAY + ", " + COLUMN_TYPE + ", "
+            + COLUMN_PLANNED_DURATION + ", " + COLUMN_ACTUAL_DURATION + ") VALUES (?, ?, ?, ?, ?, ?)";
+
+    // stats_rollup 에 미리 집계해 두는 단위 (일 단위는 stats 테이블)
+    private static final StatsGranularity[] ROLLUP_GRANULARITIES = {
+            StatsGranularity.WEEK, StatsGranularity.MONTH, StatsGranularity.YEAR
+    };
+
+    // 프로세스 전체에서 공유하는 인스턴스 (연결을 매번 열고 닫지 않음)
+    private static volatile DatabaseHelper instance;
+
+    // 세션 INSERT 문은 한 번만 컴파일해서 재사용
+    private SQLiteStatement insertSessionStatement;
+
+    public static DatabaseHelper getInstance(Context context) {
+        if (instance == null) {
+            synchronized (DatabaseHelper.class) {
+                if (instance == null) {
+                    instance = new DatabaseHelper(context.getApplicationContext(), DATABASE_NAME);
+                }
+            }
+        }
+        return instance;
+    }
+
+    DatabaseHelper(Context context, String name) {
+        super(context, name, null, DATABASE_VERSION);
+        // WAL 모드: 쓰기 중에도 읽기가 막히지 않고, 커밋마다 전체 저널을 다시 쓰지 않음
+        setWriteAheadLoggingEnabled(true);
     }
 
     @Override
     public void onCreate(SQLiteDatabase db) {
-        String CREATE_STATS_TABLE = "CREATE TABLE " + TABLE_STATS + "("
-                + COLUMN_DATE + " TEXT PRIMARY KEY,"
-                + COLUMN_FOCUS_COUNT + " INTEGER,"
-                + COLUMN_BREAK_COUNT + " INTEGER,"
-                + COLUMN_LONG_BREAK_COUNT + " INTEGER" + ")";
-        db.execSQL(CREATE_STATS_TABLE);
+        TraceSection.begin("DatabaseHelper.onCreate");
+        try {
+            createStatsTable(db);
+            createSessionsTable(db);
+            createRollupTable(db);
+            createTombstoneTable(db);
+            createTriggers(db);
+        } finally {
+            TraceSection.end();
+        }
     }
 
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_STATS);
-        onCreate(db);
-    }
-
-    public void addOrUpdateStats(String type) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-        String date = dateFormat.format(new Date());
-
-        ContentValues values = new ContentValues();
-        values.put(COLUMN_DATE, date);
-
-        Cursor cursor = db.query(TABLE_STATS, null, COLUMN_DATE + " = ?", new String[]{date}, null, null, null);
-
-        if (cursor.moveToFirst()) {
-            int focusCount = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_FOCUS_COUNT));
-            int breakCount = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_BREAK_COUNT));
-            int longBreakCount = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_LONG_BREAK_COUNT));
-
-            switch (type) {
-                case "focus":
-                    values.put(COLUMN_FOCUS_COUNT, focusCount + 1);
-                    values.put(COLUMN_BREAK_COUNT, breakCount);
-                    values.put(COLUMN_LONG_BREAK_COUNT, longBreakCount);
-                    break;
-                case "break":
-                    values.put(COLUMN_FOCUS_COUNT, focusCount);
-                    values.put(COLUMN_BREAK_COUNT, breakCount + 1);
-                    values.put(COLUMN_LONG_BREAK_COUNT, longBreakCount);
-                    break;
-                case "longBreak":
-                    values.put(COLUMN_FOCUS_COUNT, focusCount);
-                    values.put(COLUMN_BREAK_COUNT, breakCount);
-                    values.put(COLUMN_LONG_BREAK_COUNT, longBreakCount + 1);
-                    break;
-            }
-            db.update(TABLE_STATS, values, COLUMN_DATE + " = ?", new String[]{date});
-        } else {
-            values.put(COLUMN_FOCUS_COUNT, type.equals("focus") ? 1 : 0);
-            values.put(COLUMN_BREAK_COUNT, type.equals("break") ? 1 : 0);
-            values.put(COLUMN_LONG_BREAK_COUNT, type.equals("longBreak") ? 1 : 0);
-            db.insert(TABLE_STATS, null, values);
+        TraceSection.begin("DatabaseHelper.onUpgrade");
+        try {
+            // 버전별 마이그레이션을 순서대로 적용 (기존 데이터는 유지)
+            // 집계 트리거는 이전 스키마 기준이므로 먼저 제거하고 마지막에 현재 스키마로 다시 만든다
+            db.execSQL("DROP TRIGGER IF EXISTS " + TRIGGER_STATS_ROLLUP);
+            if (oldVersion < 3) {
+                migrateStatsToEpochDay(db);
+                if (oldVersion < 2) {
+                    // v1 -> v3: 세션 로그 테이블은 새 스키마로 바로 생성
+                    createSessionsTable(db);
+                } else {
+                    migrateSessionsToEpochDay(db);
+                }
+            }
+            if (oldVersion < 4) {
+                // v3 -> v4: 주/월/연 롤업 테이블을 기존 일별 통계로부터 채움
+                createRollupTable(db);
+                populateRollups(db);
+            }
+            if (oldVersion < 5) {
+                // v4 -> v5: 범위 초기화 표시 테이블 추가
+                createTombstoneTable(db);
+            }
+            createTriggers(db);
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    // 일별 통계 테이블: epoch_day 가 rowid 이므로 범위 검색이 곧바로 정수 키 탐색이 된다
+    private void createStatsTable(SQLiteDatabase db) {
+        String CREATE_STATS_TABLE = "CREATE TABLE " + TABLE_STATS + "("
+                + COLUMN_EPOCH_DAY + " INTEGER PRIMARY KEY,"
+                + COLUMN_FOCUS_COUNT + " INTEGER NOT NULL DEFAULT 0,"
+                + COLUMN_BREAK_COUNT + " INTEGER NOT NULL DEFAULT 0,"
+                + COLUMN_LONG_BREAK_COUNT + " INTEGER NOT NULL DEFAULT 0" + ")";
+        db.execSQL(CREATE_STATS_TABLE);
+    }
+
+    // 세션 로그 테이블과 날짜 범위 집계용 커버링 인덱스 생성
+    private void createSessionsTable(SQLiteDatabase db) {
+        String CREATE_SESSIONS_TABLE = "CREATE TABLE " + TABLE_SESSIONS + "("
+                + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                + COLUMN_START_TIME + " INTEGER NOT NULL,"
+                + COLUMN_END_TIME + " INTEGER NOT NULL,"
+                + COLUMN_EPOCH_DAY + " INTEGER NOT NULL,"
+                + COLUMN_TYPE + " TEXT NOT NULL,"
+                + COLUMN_PLANNED_DURATION + " INTEGER NOT NULL,"
+                + COLUMN_ACTUAL_DURATION + " INTEGER NOT NULL" + ")";
+        db.execSQL(CREATE_SESSIONS_TABLE);
+        db.execSQL("CREATE INDEX " + INDEX_SESSIONS_EPOCH_DAY + " ON " + TABLE_SESSIONS
+                + " (" + COLUMN_EPOCH_DAY + ", " + COLUMN_TYPE + ", " + COLUMN_ACTUAL_DURATION + ")");
+    }
+
+    // 주/월/연 단위 집계 테이블 (granularity, bucket) 복합 키로 클러스터링
+    private void createRollupTable(SQLiteDatabase db) {
+        String CREATE_ROLLUP_TABLE = "CREATE TABLE " + TABLE_ROLLUP + "("
+                + COLUMN_GRANULARITY + " INTEGER NOT NULL,"
+                + COLUMN_BUCKET + " INTEGER NOT NULL,"
+                + COLUMN_FOCUS_COUNT + " INTEGER NOT NULL DEFAULT 0,"
+                + COLUMN_BREAK_COUNT + " INTEGER NOT NULL DEFAULT 0,"
+                + COLUMN_LONG_BREAK_COUNT + " INTEGER NOT NULL DEFAULT 0,"
+                + "PRIMARY KEY (" + COLUMN_GRANULARITY + ", " + COLUMN_BUCKET + ")) WITHOUT ROWID";
+        db.execSQL(CREATE_ROLLUP_TABLE);
+    }
+
+    // 범위 초기화 표시: [from_day, to_day] 의 max_session_id 이하 세션과 일별 통계는 조회에서 빠지고,
+    // 실행 취소 기간이 지나면 purgeTombstones 가 실제로 지운다
+    private void createTombstoneTable(SQLiteDatabase db) {
+        String CREATE_TOMBSTONE_TABLE = "CREATE TABLE " + TABLE_TOMBSTONES + "("
+                + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                + COLUMN_FROM_DAY + " INTEGER NOT NULL,"
+                + COLUMN_TO_DAY + " INTEGER NOT NULL,"
+                + COLUMN_MAX_SESSION_ID + " INTEGER NOT NULL,"
+                + COLUMN_CREATED_AT + " INTEGER NOT NULL" + ")";
+        db.execSQL(CREATE_TOMBSTONE_TABLE);
+    }
+
+    // 롤업 테이블을 일별 통계로부터 채움 (비어 있는 테이블 기준)
+    private static void populateRollups(SQLiteDatabase db) {
+        for (StatsGranularity granularity : ROLLUP_GRANULARITIES) {
+            db.execSQL("INSERT INTO " + TABLE_ROLLUP + " SELECT " + granularity.code + ", "
+                    + bucketExpression(granularity, COLUMN_EPOCH_DAY) + " AS b, "
+                    + "SUM(" + COLUMN_FOCUS_COUNT + "), SUM(" + COLUMN_BREAK_COUNT + "), SUM(" + COLUMN_LONG_BREAK_COUNT + ") "
+                    + "FROM " + TABLE_STATS + " GROUP BY b");
+        }
+    }
+
+    // stats, stats_rollup 은 sessions 에서 파생되는 집계 테이블로, 세션이 추가될 때 같은 트랜잭션 안에서 트리거가 갱신한다
+    private void createTriggers(SQLiteDatabase db) {
+        StringBuilder trigger = new StringBuilder("CREATE TRIGGER " + TRIGGER_STATS_ROLLUP
+                + " AFTER INSERT ON " + TABLE_SESSIONS + " BEGIN ");
+        trigger.append("INSERT OR IGNORE INTO " + TABLE_STATS + " (" + COLUMN_EPOCH_DAY + ") VALUES (NEW." + COLUMN_EPOCH_DAY + "); ");
+        trigger.append("UPDATE " + TABLE_STATS + " SET " + counterIncrements()
+                + " WHERE " + COLUMN_EPOCH_DAY + " = NEW." + COLUMN_EPOCH_DAY + "; ");
+        for (StatsGranularity granularity : ROLLUP_GRANULARITIES) {
+            String bucket = bucketExpression(granularity, "NEW." + COLUMN_EPOCH_DAY);
+            trigger.append("INSERT OR IGNORE INTO " + TABLE_ROLLUP + " (" + COLUMN_GRANULARITY + ", " + COLUMN_BUCKET
+                    + ") VALUES (" + granularity.code + ", " + bucket + "); ");
+            trigger.append("UPDATE " + TABLE_ROLLUP + " SET " + counterIncrements()
+                    + " WHERE " + COLUMN_GRANULARITY + " = " + granularity.code
+                    + " AND " + COLUMN_BUCKET + " = " + bucket + "; ");
+        }
+        trigger.append("END");
+        db.execSQL(trigger.toString());
+    }
+
+    // 트리거에서 새 세션 종류에 해당하는 카운터만 1 증가
+    private static String counterIncrements() {
+        return COLUMN_FOCUS_COUNT + " = " + COLUMN_FOCUS_COUNT + " + (NEW." + COLUMN_TYPE + " = '" + TYPE_FOCUS + "'), "
+                + COLUMN_BREAK_COUNT + " = " + COLUMN_BREAK_COUNT + " + (NEW." + COLUMN_TYPE + " = '" + TYPE_BREAK + "'), "
+                + COLUMN_LONG_BREAK_COUNT + " = " + COLUMN_LONG_BREAK_COUNT + " + (NEW." + COLUMN_TYPE + " = '" + TYPE_LONG_BREAK + "')";
+    }
+
+    // StatsGranularity.bucketOf 와 같은 계산을 하는 SQL 식
+    private static String bucketExpression(StatsGranularity granularity, String epochDay) {
+        String year = "CAST(strftime('%Y', " + epochDay + " * 86400, 'unixepoch') AS INTEGER)";
+        String month = "CAST(strftime('%m', " + epochDay + " * 86400, 'unixepoch') AS INTEGER)";
+        switch (granularity) {
+            case WEEK:
+                // SQL 의 % 는 0 쪽으로 자르므로 Math.floorMod 와 같아지도록 음수 나머지를 보정 (1970-01-01 이전 날짜)
+                return "(" + epochDay + " - (((" + epochDay + " + 3) % 7 + 7) % 7))";
+            case MONTH:
+                return "(" + year + " * 12 + " + month + " - 1)";
+            case YEAR:
+                return year;
+            default:
+                return epochDay;
+        }
+    }
+
+    // v2 -> v3: 문자열 날짜 키를 epoch day 정수 키로 변환
+    private void migrateStatsToEpochDay(SQLiteDatabase db) {
+        db.execSQL("ALTER TABLE " + TABLE_STATS + " RENAME TO " + TABLE_STATS + "_old");
+        createStatsTable(db);
+
+        // 기존 행은 당시 기기 로케일로 기록되었으므로 같은 로케일로 먼저 해석
+        SimpleDateFormat localeFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
+        SimpleDateFormat asciiFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+        SQLiteStatement insert = db.compileStatement("INSERT OR IGNORE INTO " + TABLE_STATS + " ("
+                + COLUMN_EPOCH_DAY + ") VALUES (?)");
+        SQLiteStatement update = db.compileStatement("UPDATE " + TABLE_STATS + " SET "
+                + COLUMN_FOCUS_COUNT + " = " + COLUMN_FOCUS_COUNT + " + ?, "
+                + COLUMN_BREAK_COUNT + " = " + COLUMN_BREAK_COUNT + " + ?, "
+                + COLUMN_LONG_BREAK_COUNT + " = " + COLUMN_LONG_BREAK_COUNT + " + ? "
+                + "WHERE " + COLUMN_EPOCH_DAY + " = ?");
+
+        Cursor cursor = db.rawQuery("SELECT " + COLUMN_DATE + ", " + COLUMN_FOCUS_COUNT + ", "
+                + COLUMN_BREAK_COUNT + ", " + COLUMN_LONG_BREAK_COUNT + " FROM " + TABLE_STATS + "_old", null);
+        while (cursor.moveToNext()) {
+            Date date = parseLegacyDate(cursor.getString(0), localeFormat, asciiFormat);
+            if (date == null) {
+                Log.w(TAG, "Skipping unparseable stats row: " + cursor.getString(0));
+                continue;
+            }
+            int epochDay = EpochDays.fromMillis(date.getTime());
+            insert.bindLong(1, epochDay);
+            insert.executeInsert();
+            update.bindLong(1, cursor.getInt(1));
+            update.bindLong(2, cursor.getInt(2));
+            update.bindLong(3, cursor.getInt(3));
+            update.bindLong(4, epochDay);
+            update.executeUpdateDelete();
         }
         cursor.close();
-        db.close();
+        insert.close();
+        update.close();
+
+        db.execSQL("DROP TABLE " + TABLE_STATS + "_old");
     }
 
-    public List<DailyStats> getWeeklyStats() {
-        List<DailyStats> statsList = new ArrayList<>();
-        SQLiteDatabase db = this.getReadableDatabase();
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-        String sevenDaysAgo = dateFormat.format(new Date(System.currentTimeMillis() - 7 * 24 * 60 * 60 * 1000));
-
-        String selectQuery = "SELECT * FROM " + TABLE_STATS + " WHERE " + COLUMN_DATE + " >= ? ORDER BY " + COLUMN_DATE + " ASC";
-        Cursor cursor = db.rawQuery(selectQuery, new String[]{sevenDaysAgo});
-
-        if (cursor.moveToFirst()) {
-            do {
-                String date = cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_DATE));
-                int focusCount = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_FOCUS_COUNT));
-                int breakCount = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_BREAK_COUNT));
-                int longBreakCount = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_LONG_BREAK_COUNT));
-                statsList.add(new DailyStats(date, focusCount, breakCount, longBreakCount));
-            } while (cursor.moveToNext());
+    // v2 -> v3: 세션의 문자열 날짜 컬럼을 종료 시각 기준 epoch day 로 교체
+    private void migrateSessionsToEpochDay(SQLiteDatabase db) {
+        db.execSQL("ALTER TABLE " + TABLE_SESSIONS + " RENAME TO " + TABLE_SESSIONS + "_old");
+        createSessionsTable(db);
+
+        SQLiteStatement insert = db.compileStatement("INSERT INTO " + TABLE_SESSIONS + " ("
+                + COLUMN_ID + ", " + COLUMN_START_TIME + ", " + COLUMN_END_TIME + ", " + COLUMN_EPOCH_DAY + ", "
+                + COLUMN_TYPE + ", " + COLUMN_PLANNED_DURATION + ", " + COLUMN_ACTUAL_DURATION
+                + ") VALUES (?, ?, ?, ?, ?, ?, ?)");
+        Cursor cursor = db.rawQuery("SELECT " + COLUMN_ID + ", " + COLUMN_START_TIME + ", " + COLUMN_END_TIME + ", "
+                + COLUMN_TYPE + ", " + COLUMN_PLANNED_DURATION + ", " + COLUMN_ACTUAL_DURATION
+                + " FROM " + TABLE_SESSIONS + "_old", null);
+        while (cursor.moveToNext()) {
+            long endTime = cursor.getLong(2);
+            insert.bindLong(1, cursor.getLong(0));
+            insert.bindLong(2, cursor.getLong(1));
+            insert.bindLong(3, endTime);
+            insert.bindLong(4, EpochDays.fromMillis(endTime));
+            insert.bindString(5, cursor.getString(3));
+            insert.bindLong(6, cursor.getLong(4));
+            insert.bindLong(7, cursor.getLong(5));
+            insert.executeInsert();
         }
         cursor.close();
-        db.close();
-        return statsList;
+        insert.close();
+
+        db.execSQL("DROP TABLE " + TABLE_SESSIONS + "_old");
+    }
+
+    private Date parseLegacyDate(String value, SimpleDateFormat localeFormat, SimpleDateFormat asciiFormat) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return localeFormat.parse(value);
+        } catch (ParseException e) {
+            try {
+                return asciiFormat.parse(value);
+            } catch (ParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    // 완료된 세션 하나를 로그에 추가 (일별 통계는 트리거가 갱신)
+    public synchronized void addSession(String type, long startTime, long endTime, long plannedDuration, long actualDuration) {
+        TraceSection.begin("DatabaseHelper.addSession");
+        try {
+            SQLiteStatement insert = getInsertSessionStatement();
+            insert.clearBindings();
+            insert.bindLong(1, startTime);
+            insert.bindLong(2, endTime);
+            insert.bindLong(3, EpochDays.fromMillis(endTime));
+            insert.bindString(4, type);
+            insert.bindLong(5, plannedDuration);
+            insert.bindLong(6, actualDuration);
+            insert.executeInsert();
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    // 여러 쓰기를 한 트랜잭션으로 묶어 커밋(저널 동기화)을 한 번만 함
+    void runInTransaction(Runnable body) {
+        TraceSection.begin("DatabaseHelper.runInTransaction");
+        try {
+            SQLiteDatabase db = getWritableDatabase();
+            db.beginTransaction();
+            try {
+                body.run();
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    private SQLiteStatement getInsertSessionStatement() {
+        if (insertSessionStatement == null) {
+            insertSessionStatement = getWritableDatabase().compileStatement(INSERT_SESSION);
+        }
+        return insertSessionStatement;
+    }
+
+    public List<DailyStats> getWeeklyStats() {
+        int sevenDaysAgo = EpochDays.today() - 7;
+        return getDailyStats(sevenDaysAgo, Integer.MAX_VALUE);
     }
 
+    // [fromDay, toDay] 범위의 일별 통계 (정수 키 범위 탐색)
+    public List<DailyStats> getDailyStats(int fromDay, int toDay) {
+        TraceSection.begin("DatabaseHelper.getDailyStats");
+        try {
+            List<DailyStats> statsList = new ArrayList<>();
+            Cursor cursor = queryDays(this.getReadableDatabase(), fromDay, toDay);
 
-    public void resetStats() {
-        SQLiteDatabase db = this.getWritableDatabase();
-        db.delete(TABLE_STATS, null, null);
-        db.close();
+            if (cursor.moveToFirst()) {
+                do {
+                    int epochDay = cursor.getInt(0);
+                    int focusCount = cursor.getInt(1);
+                    int breakCount = cursor.getInt(2);
+                    int longBreakCount = cursor.getInt(3);
+                    statsList.add(new DailyStats(epochDay, focusCount, breakCount, longBreakCount));
+                } while (cursor.moveToNext());
+            }
+            cursor.close();
+            return statsList;
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    // [fromDay, toDay] 범위를 주어진 단위로 집계한 통계. 범위 양 끝이 걸친 버킷은 통째로 포함된다
+    // 일 단위 외에는 미리 집계된 롤업 행만 읽으므로 1년 범위도 주 단위면 약 52행
+    // 초기화 표시가 걸친 범위는 롤업에 아직 지워지지 않은 횟수가 남아 있으므로 일별 통계를 메모리에서 합친다
+    public StatsSeries getStats(int fromDay, int toDay, StatsGranularity granularity) {
+        TraceSection.begin("DatabaseHelper.getStats");
+        try {
+            SQLiteDatabase db = this.getReadableDatabase();
+            Cursor cursor;
+            String dayColumn;
+            if (granularity == StatsGranularity.DAY) {
+                dayColumn = COLUMN_EPOCH_DAY;
+                cursor = queryDays(db, fromDay, toDay);
+            } else {
+                int firstDay = granularity.firstDayOf(granularity.bucketOf(fromDay));
+                int lastDay = granularity.lastDayOf(granularity.bucketOf(toDay));
+                if (hasTombstones(db, firstDay, lastDay)) {
+                    Cursor days = queryDays(db, firstDay, lastDay);
+                    try {
+                        return StatsSeries.read(days, COLUMN_EPOCH_DAY, COLUMN_FOCUS_COUNT, COLUMN_BREAK_COUNT,
+                                COLUMN_LONG_BREAK_COUNT, StatsGranularity.DAY).rollUp(granularity);
+                    } finally {
+                        days.close();
+                    }
+                }
+                dayColumn = COLUMN_BUCKET;
+                cursor = db.rawQuery("SELECT " + COLUMN_BUCKET + ", " + COLUMN_FOCUS_COUNT + ", "
+                        + COLUMN_BREAK_COUNT + ", " + COLUMN_LONG_BREAK_COUNT + " FROM " + TABLE_ROLLUP
+                        + " WHERE " + COLUMN_GRANULARITY + " = ? AND " + COLUMN_BUCKET + " BETWEEN ? AND ?"
+                        + " ORDER BY " + COLUMN_BUCKET + " ASC",
+                        new String[]{
+                                String.valueOf(granularity.code),
+                                String.valueOf(granularity.bucketOf(fromDay)),
+                                String.valueOf(granularity.bucketOf(toDay))});
+            }
+            try {
+                return StatsSeries.read(cursor, dayColumn, COLUMN_FOCUS_COUNT, COLUMN_BREAK_COUNT,
+                        COLUMN_LONG_BREAK_COUNT, granularity);
+            } finally {
+                cursor.close();
+            }
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    // [fromDay, toDay] 일별 통계 커서 (epoch_day 오름차순)
+    // 초기화 표시가 걸친 날은 stats 행 대신, 표시 이후에 기록된 세션만 세션 로그에서 다시 센다
+    private Cursor queryDays(SQLiteDatabase db, int fromDay, int toDay) {
+        String[] args = {String.valueOf(fromDay), String.valueOf(toDay)};
+        if (!hasTombstones(db, fromDay, toDay)) {
+            return db.rawQuery("SELECT " + COLUMN_EPOCH_DAY + ", " + COLUMN_FOCUS_COUNT + ", "
+                    + COLUMN_BREAK_COUNT + ", " + COLUMN_LONG_BREAK_COUNT + " FROM " + TABLE_STATS
+                    + " WHERE " + COLUMN_EPOCH_DAY + " BETWEEN ? AND ? ORDER BY " + COLUMN_EPOCH_DAY + " ASC", args);
+        }
+        return db.rawQuery("SELECT " + COLUMN_EPOCH_DAY + ", " + COLUMN_FOCUS_COUNT + ", "
+                + COLUMN_BREAK_COUNT + ", " + COLUMN_LONG_BREAK_COUNT + " FROM " + TABLE_STATS
+                + " WHERE " + COLUMN_EPOCH_DAY + " BETWEEN ?1 AND ?2"
+                + " AND NOT EXISTS (SELECT 1" + coveringTombstones(TABLE_STATS + "." + COLUMN_EPOCH_DAY) + ")"
+                + " UNION ALL SELECT " + COLUMN_EPOCH_DAY + ", "
+                + "SUM(" + COLUMN_TYPE + " = '" + TYPE_FOCUS + "'), "
+                + "SUM(" + COLUMN_TYPE + " = '" + TYPE_BREAK + "'), "
+                + "SUM(" + COLUMN_TYPE + " = '" + TYPE_LONG_BREAK + "') FROM " + TABLE_SESSIONS
+                + " WHERE " + COLUMN_EPOCH_DAY + " BETWEEN ?1 AND ?2"
+                + " AND " + COLUMN_ID + " > (SELECT MAX(t." + COLUMN_MAX_SESSION_ID + ")"
+                + coveringTombstones(TABLE_SESSIONS + "." + COLUMN_EPOCH_DAY) + ")"
+                + " GROUP BY " + COLUMN_EPOCH_DAY + " ORDER BY " + COLUMN_EPOCH_DAY + " ASC", args);
+    }
+
+    // epochDay 식의 날짜를 덮는 초기화 표시 (별칭 t)
+    private static String coveringTombstones(String epochDay) {
+        return " FROM " + TABLE_TOMBSTONES + " t WHERE " + epochDay
+                + " BETWEEN t." + COLUMN_FROM_DAY + " AND t." + COLUMN_TO_DAY;
+    }
+
+    // [fromDay, toDay] 와 겹치는 초기화 표시가 있는지 (표시는 실행 취소 기간 동안만 남으므로 보통 0행)
+    private static boolean hasTombstones(SQLiteDatabase db, int fromDay, int toDay) {
+        return DatabaseUtils.longForQuery(db, "SELECT EXISTS (SELECT 1 FROM " + TABLE_TOMBSTONES
+                + " WHERE " + COLUMN_FROM_DAY + " <= ? AND " + COLUMN_TO_DAY + " >= ?)",
+                new String[]{String.valueOf(toDay), String.valueOf(fromDay)}) != 0;
+    }
+
+    // 내보내기용 전체 세션 (기록 순서, 초기화 표시로 가려진 세션 제외)
+    // 커서 창 단위로 읽으므로 행 수와 무관하게 메모리가 일정하다
+    Cursor querySessionsForExport() {
+        TraceSection.begin("DatabaseHelper.querySessionsForExport");
+        try {
+            return getReadableDatabase().rawQuery("SELECT " + COLUMN_START_TIME + ", " + COLUMN_END_TIME + ", "
+                    + COLUMN_TYPE + ", " + COLUMN_PLANNED_DURATION + ", " + COLUMN_ACTUAL_DURATION
+                    + " FROM " + TABLE_SESSIONS + " WHERE NOT EXISTS (SELECT 1"
+                    + coveringTombstones(TABLE_SESSIONS + "." + COLUMN_EPOCH_DAY)
+                    + " AND " + TABLE_SESSIONS + "." + COLUMN_ID + " <= t." + COLUMN_MAX_SESSION_ID + ")"
+                    + " ORDER BY " + COLUMN_ID, null);
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    // 내보내기용 전체 일별 통계 (세션 로그가 없는 v3 이전 기록 포함, 초기화 표시가 걸친 날 제외)
+    Cursor queryDailyStatsForExport() {
+        TraceSection.begin("DatabaseHelper.queryDailyStatsForExport");
+        try {
+            return getReadableDatabase().rawQuery("SELECT " + COLUMN_EPOCH_DAY + ", " + COLUMN_FOCUS_COUNT + ", "
+                    + COLUMN_BREAK_COUNT + ", " + COLUMN_LONG_BREAK_COUNT + " FROM " + TABLE_STATS
+                    + " WHERE NOT EXISTS (SELECT 1" + coveringTombstones(TABLE_STATS + "." + COLUMN_EPOCH_DAY) + ")"
+                    + " ORDER BY " + COLUMN_EPOCH_DAY, null);
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    Importer newImporter(int batchSize) {
+        return new Importer(getWritableDatabase(), batchSize);
+    }
+
+    // 가져오기: batchSize 행마다 트랜잭션을 커밋하며 세션과 일별 통계를 넣는다
+    // 같은 날짜/종류/시작·종료 시각의 세션이 이미 있으면 건너뛰고 (epoch_day 인덱스로 탐색),
+    // 일별 통계는 날짜 키가 겹치면 항목별로 큰 값을 남긴다 (세션으로 이미 집계된 횟수를 두 번 더하지 않음)
+    // 일별 통계는 모아 두었다가 세션을 모두 넣은 뒤 병합한다. 먼저 병합하면 뒤이어 들어온 세션을
+    // 트리거가 그 위에 다시 더하므로, 파일 안의 순서(JSON 키 순서 등)에 따라 결과가 달라진다
+    static final class Importer {
+        private static final int DAY_FIELDS = 4;
+
+        private final SQLiteDatabase db;
+        private final int batchSize;
+        private final SQLiteStatement insertSession;
+        private final SQLiteStatement insertDay;
+        private final SQLiteStatement mergeDay;
+        private int pending;
+        // 병합을 미룬 일별 통계 (날짜, 집중, 휴식, 긴 휴식 순으로 DAY_FIELDS 개씩)
+        private int[] pendingDays = new int[DAY_FIELDS * 64];
+        private int pendingDayCount;
+
+        int sessionsImported;
+        int duplicateSessions;
+        int daysMerged;
+
+        private Importer(SQLiteDatabase db, int batchSize) {
+            this.db = db;
+            this.batchSize = batchSize;
+            insertSession = db.compileStatement("INSERT INTO " + TABLE_SESSIONS + " ("
+                    + COLUMN_START_TIME + ", " + COLUMN_END_TIME + ", " + COLUMN_EPOCH_DAY + ", " + COLUMN_TYPE + ", "
+                    + COLUMN_PLANNED_DURATION + ", " + COLUMN_ACTUAL_DURATION + ") SELECT ?1, ?2, ?3, ?4, ?5, ?6"
+                    + " WHERE NOT EXISTS (SELECT 1 FROM " + TABLE_SESSIONS + " WHERE " + COLUMN_EPOCH_DAY + " = ?3"
+                    + " AND " + COLUMN_TYPE + " = ?4 AND " + COLUMN_START_TIME + " = ?1 AND " + COLUMN_END_TIME + " = ?2)");
+            insertDay = db.compileStatement("INSERT OR IGNORE INTO " + TABLE_STATS + " ("
+                    + COLUMN_EPOCH_DAY + ") VALUES (?)");
+            mergeDay = db.compileStatement("UPDATE " + TABLE_STATS + " SET "
+                    + COLUMN_FOCUS_COUNT + " = MAX(" + COLUMN_FOCUS_COUNT + ", ?1), "
+                    + COLUMN_BREAK_COUNT + " = MAX(" + COLUMN_BREAK_COUNT + ", ?2), "
+                    + COLUMN_LONG_BREAK_COUNT + " = MAX(" + COLUMN_LONG_BREAK_COUNT + ", ?3) "
+                    + "WHERE " + COLUMN_EPOCH_DAY + " = ?4");
+        }
+
+        void addSession(String type, long startTime, long endTime, long plannedDuration, long actualDuration) {
+            beginIfNeeded();
+            insertSession.bindLong(1, startTime);
+            insertSession.bindLong(2, endTime);
+            insertSession.bindLong(3, EpochDays.fromMillis(endTime));
+            insertSession.bindString(4, type);
+            insertSession.bindLong(5, plannedDuration);
+            insertSession.bindLong(6, actualDuration);
+            if (insertSession.executeInsert() != -1) {
+                sessionsImported++;
+            } else {
+                duplicateSessions++;
+            }
+            commitIfFull();
+        }
+
+        // 날짜 하나당 int 4개라 몇 년치를 모아도 작다
+        void mergeDay(int epochDay, int focusCount, int breakCount, int longBreakCount) {
+            int offset = pendingDayCount * DAY_FIELDS;
+            if (offset == pendingDays.length) {
+                pendingDays = Arrays.copyOf(pendingDays, pendingDays.length * 2);
+            }
+            pendingDays[offset] = epochDay;
+            pendingDays[offset + 1] = focusCount;
+            pendingDays[offset + 2] = breakCount;
+            pendingDays[offset + 3] = longBreakCount;
+            pendingDayCount++;
+        }
+
+        // 남은 배치를 커밋(success 가 false 면 버림)하고, 성공했으면 모아 둔 일별 통계를 병합한 뒤 롤업을 다시 계산
+        // 이미 커밋된 세션 배치는 남으며, 같은 파일을 다시 가져와도 중복 없이 이어서 들어간다
+        void finish(boolean success) {
+            try {
+                if (db.inTransaction()) {
+                    if (success) {
+                        db.setTransactionSuccessful();
+                    }
+                    db.endTransaction();
+                }
+                if (success && pendingDayCount > 0) {
+                    db.beginTransaction();
+                    try {
+                        mergePendingDays();
+                        db.delete(TABLE_ROLLUP, null, null);
+                        populateRollups(db);
+                        db.setTransactionSuccessful();
+                    } finally {
+                        db.endTransaction();
+                    }
+                }
+            } finally {
+                insertSession.close();
+                insertDay.close();
+                mergeDay.close();
+            }
+        }
+
+        private void mergePendingDays() {
+            for (int i = 0; i < pendingDayCount; i++) {
+                int offset = i * DAY_FIELDS;
+                insertDay.bindLong(1, pendingDays[offset]);
+                insertDay.executeInsert();
+                mergeDay.bindLong(1, pendingDays[offset + 1]);
+                mergeDay.bindLong(2, pendingDays[offset + 2]);
+                mergeDay.bindLong(3, pendingDays[offset + 3]);
+                mergeDay.bindLong(4, pendingDays[offset]);
+                mergeDay.executeUpdateDelete();
+                daysMerged++;
+            }
+        }
+
+        private void beginIfNeeded() {
+            if (pending == 0) {
+                db.beginTransaction();
+            }
+        }
+
+        private void commitIfFull() {
+            if (++pending >= batchSize) {
+                db.setTransactionSuccessful();
+                db.endTransaction();
+                pending = 0;
+            }
+        }
+    }
+
+    // [fromDay, toDay] 범위 초기화: 지금까지 기록된 세션을 가리는 표시 한 행만 추가하므로 기록 양과 무관하게 즉시 끝난다
+    // 반환값은 실행 취소(removeTombstone)에 쓰는 표시 id
+    long addTombstone(int fromDay, int toDay) {
+        TraceSection.begin("DatabaseHelper.addTombstone");
+        try {
+            SQLiteStatement insert = getWritableDatabase().compileStatement("INSERT INTO " + TABLE_TOMBSTONES + " ("
+                    + COLUMN_FROM_DAY + ", " + COLUMN_TO_DAY + ", " + COLUMN_MAX_SESSION_ID + ", " + COLUMN_CREATED_AT
+                    + ") SELECT ?, ?, IFNULL(MAX(" + COLUMN_ID + "), 0), ? FROM " + TABLE_SESSIONS);
+            try {
+                insert.bindLong(1, fromDay);
+                insert.bindLong(2, toDay);
+                insert.bindLong(3, System.currentTimeMillis());
+                return insert.executeInsert();
+            } finally {
+                insert.close();
+            }
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    // 초기화 실행 취소. 이미 정리된 표시면 false
+    boolean removeTombstone(long id) {
+        TraceSection.begin("DatabaseHelper.removeTombstone");
+        try {
+            return getWritableDatabase().delete(TABLE_TOMBSTONES, COLUMN_ID + " = ?",
+                    new String[]{String.valueOf(id)}) > 0;
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    // createdBefore 이전에 만든 초기화 표시의 범위를 실제로 지우고 표시를 없앤다
+    // 조회 결과는 그대로이며, 지운 것이 있으면 트랜잭션 밖에서 VACUUM 으로 빈 페이지를 파일에서 돌려준다
+    int purgeTombstones(long createdBefore) {
+        TraceSection.begin("DatabaseHelper.purgeTombstones");
+        try {
+            SQLiteDatabase db = getWritableDatabase();
+            int purged = 0;
+            db.beginTransaction();
+            try {
+                Cursor cursor = db.rawQuery("SELECT " + COLUMN_ID + ", " + COLUMN_FROM_DAY + ", " + COLUMN_TO_DAY + ", "
+                        + COLUMN_MAX_SESSION_ID + " FROM " + TABLE_TOMBSTONES + " WHERE " + COLUMN_CREATED_AT + " <= ?"
+                        + " ORDER BY " + COLUMN_ID, new String[]{String.valueOf(createdBefore)});
+                try {
+                    while (cursor.moveToNext()) {
+                        purgeRange(db, cursor.getInt(1), cursor.getInt(2), cursor.getLong(3));
+                        db.delete(TABLE_TOMBSTONES, COLUMN_ID + " = ?", new String[]{String.valueOf(cursor.getLong(0))});
+                        purged++;
+                    }
+                } finally {
+                    cursor.close();
+                }
+                if (purged > 0) {
+                    db.delete(TABLE_ROLLUP, null, null);
+                    populateRollups(db);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            if (purged > 0) {
+                db.execSQL("VACUUM");
+            }
+            return purged;
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    // 표시된 세션을 지우고, 범위의 일별 통계를 남은 세션(표시 이후 기록)으로 다시 집계
+    private static void purgeRange(SQLiteDatabase db, int fromDay, int toDay, long maxSessionId) {
+        String[] range = {String.valueOf(fromDay), String.valueOf(toDay)};
+        db.delete(TABLE_SESSIONS, COLUMN_EPOCH_DAY + " BETWEEN ? AND ? AND " + COLUMN_ID + " <= ?",
+                new String[]{range[0], range[1], String.valueOf(maxSessionId)});
+        db.delete(TABLE_STATS, COLUMN_EPOCH_DAY + " BETWEEN ? AND ?", range);
+        db.execSQL("INSERT INTO " + TABLE_STATS + " SELECT " + COLUMN_EPOCH_DAY + ", "
+                + "SUM(" + COLUMN_TYPE + " = '" + TYPE_FOCUS + "'), "
+                + "SUM(" + COLUMN_TYPE + " = '" + TYPE_BREAK + "'), "
+                + "SUM(" + COLUMN_TYPE + " = '" + TYPE_LONG_BREAK + "') FROM " + TABLE_SESSIONS
+                + " WHERE " + COLUMN_EPOCH_DAY + " BETWEEN ? AND ? GROUP BY " + COLUMN_EPOCH_DAY, range);
+    }
+
+    @Override
+    public synchronized void close() {
+        // 캐시된 구문은 연결과 함께 정리
+        if (insertSessionStatement != null) {
+            insertSessionStatement.close();
+            insertSessionStatement = null;
+        }
+        super.close();
     }
 
     public static class DailyStats {
+        public int epochDay;
         public String date;
         public int focusCount;
         public int breakCount;
         public int longBreakCount;
 
-        public DailyStats(String date, int focusCount, int breakCount, int longBreakCount) {
-            this.date = date;
+        public DailyStats(int epochDay, int focusCount, int breakCount, int longBreakCount) {
+            this.epochDay = epochDay;
+            this.date = EpochDays.format(epochDay);
             this.focusCount = focusCount;
             this.breakCount = breakCount;
             this.longBreakCount = longBreakCount;
         }
     }
-}
\ No newline at end of file
+}
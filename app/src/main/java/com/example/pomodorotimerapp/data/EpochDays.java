@@ -0,0 +1,95 @@
+package com.example.pomodorotimerapp.data;
+
+import java.util.TimeZone;
+
+// 통계 키로 쓰는 epoch day (1970-01-01 부터의 로컬 날짜 수) 변환 유틸리티
+// 로케일과 무관하게 정수로 비교/범위 검색할 수 있도록 문자열 날짜 대신 사용한다
+public final class EpochDays {
+    public static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    private EpochDays() {
+    }
+
+    // 밀리초 시각을 기기 시간대 기준 epoch day 로 변환
+    public static int fromMillis(long millis) {
+        long local = millis + TimeZone.getDefault().getOffset(millis);
+        return (int) Math.floorDiv(local, MILLIS_PER_DAY);
+    }
+
+    public static int today() {
+        return fromMillis(System.currentTimeMillis());
+    }
+
+    // 연/월/일 (월은 1~12) 을 epoch day 로 변환
+    public static int of(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    public static int year(int epochDay) {
+        int[] civil = toCivil(epochDay);
+        return civil[0];
+    }
+
+    public static int month(int epochDay) {
+        int[] civil = toCivil(epochDay);
+        return civil[1];
+    }
+
+    public static int dayOfMonth(int epochDay) {
+        int[] civil = toCivil(epochDay);
+        return civil[2];
+    }
+
+    // 화면 표시용 "yyyy-MM-dd" 문자열 (항상 ASCII 숫자)
+    public static String format(int epochDay) {
+        int[] civil = toCivil(epochDay);
+        char[] out = new char[10];
+        writeDigits(out, 0, civil[0], 4);
+        out[4] = '-';
+        writeDigits(out, 5, civil[1], 2);
+        out[7] = '-';
+        writeDigits(out, 8, civil[2], 2);
+        return new String(out);
+    }
+
+    // format 의 역변환. 형식이 다르거나 없는 날짜면 IllegalArgumentException
+    public static int parse(String text) {
+        if (text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            throw new IllegalArgumentException("Not a yyyy-MM-dd date: " + text);
+        }
+        int epochDay = of(Integer.parseInt(text.substring(0, 4)),
+                Integer.parseInt(text.substring(5, 7)),
+                Integer.parseInt(text.substring(8, 10)));
+        // 2월 30일처럼 다른 날짜로 넘어가는 값은 거부
+        if (!format(epochDay).equals(text)) {
+            throw new IllegalArgumentException("Not a valid date: " + text);
+        }
+        return epochDay;
+    }
+
+    // epoch day -> {연, 월, 일}
+    private static int[] toCivil(int epochDay) {
+        int z = epochDay + 719468;
+        int era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return new int[]{year, month, day};
+    }
+
+    private static void writeDigits(char[] out, int offset, int value, int width) {
+        for (int i = width - 1; i >= 0; i--) {
+            out[offset + i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
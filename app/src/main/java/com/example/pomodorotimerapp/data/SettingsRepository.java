@@ -0,0 +1,104 @@
+package com.example.pomodorotimerapp.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 타이머 설정 저장소
+// 시작할 때 백그라운드 스레드에서 한 번 읽어 불변 스냅샷으로 공개하고, 변경은 즉시 공개한 뒤 비동기로 저장한다
+public class SettingsRepository {
+    private static final String PREFS_NAME = "timer_settings";
+    private static final String KEY_FOCUS_TIME = "focus_time";
+    private static final String KEY_BREAK_TIME = "break_time";
+    private static final String KEY_LONG_BREAK_TIME = "long_break_time";
+    private static final String KEY_CYCLES = "cycles_before_long_break";
+    private static final String KEY_AUTO_START_BREAK = "auto_start_break";
+    private static final String KEY_AUTO_START_FOCUS = "auto_start_focus";
+
+    private static volatile SettingsRepository instance;
+
+    private final Context context;
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "settings-io"));
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // 로드가 끝나기 전에는 값이 없음 (getCurrent 는 기본값을 반환)
+    private final MutableLiveData<TimerSettings> settings = new MutableLiveData<>();
+
+    public static SettingsRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (SettingsRepository.class) {
+                if (instance == null) {
+                    instance = new SettingsRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    SettingsRepository(Context context) {
+        this.context = context;
+        ioExecutor.execute(() -> {
+            TimerSettings loaded = load();
+            mainHandler.post(() -> {
+                // 로드 중에 update 가 먼저 반영되었으면 그 값을 유지
+                if (settings.getValue() == null) {
+                    settings.setValue(loaded);
+                }
+            });
+        });
+    }
+
+    // 설정 변경을 메인 스레드에서 받는 LiveData
+    public LiveData<TimerSettings> getSettings() {
+        return settings;
+    }
+
+    // 현재 스냅샷 (아직 로드되지 않았으면 기본값)
+    public TimerSettings getCurrent() {
+        TimerSettings current = settings.getValue();
+        return current != null ? current : TimerSettings.DEFAULT;
+    }
+
+    // 메인 스레드에서 호출: 새 스냅샷을 바로 공개하고 디스크 쓰기는 백그라운드에서 실행
+    public void update(TimerSettings newSettings) {
+        if (newSettings.equals(settings.getValue())) {
+            return;
+        }
+        settings.setValue(newSettings);
+        ioExecutor.execute(() -> prefs().edit()
+                .putLong(KEY_FOCUS_TIME, newSettings.focusTime)
+                .putLong(KEY_BREAK_TIME, newSettings.breakTime)
+                .putLong(KEY_LONG_BREAK_TIME, newSettings.longBreakTime)
+                .putInt(KEY_CYCLES, newSettings.cyclesBeforeLongBreak)
+                .putBoolean(KEY_AUTO_START_BREAK, newSettings.autoStartBreak)
+                .putBoolean(KEY_AUTO_START_FOCUS, newSettings.autoStartFocus)
+                .commit());
+    }
+
+    void runInBackground(Runnable task) {
+        ioExecutor.execute(task);
+    }
+
+    private TimerSettings load() {
+        SharedPreferences prefs = prefs();
+        TimerSettings defaults = TimerSettings.DEFAULT;
+        return new TimerSettings(
+                prefs.getLong(KEY_FOCUS_TIME, defaults.focusTime),
+                prefs.getLong(KEY_BREAK_TIME, defaults.breakTime),
+                prefs.getLong(KEY_LONG_BREAK_TIME, defaults.longBreakTime),
+                prefs.getInt(KEY_CYCLES, defaults.cyclesBeforeLongBreak),
+                prefs.getBoolean(KEY_AUTO_START_BREAK, defaults.autoStartBreak),
+                prefs.getBoolean(KEY_AUTO_START_FOCUS, defaults.autoStartFocus));
+    }
+
+    private SharedPreferences prefs() {
+        return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
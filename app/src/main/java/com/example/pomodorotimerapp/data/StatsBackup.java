@@ -0,0 +1,400 @@
+package com.example.pomodorotimerapp.data;
+
+import android.database.Cursor;
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+// 세션 기록과 일별 통계를 CSV/JSON 으로 내보내고 가져오는 스트리밍 변환기
+// 내보내기는 커서에서 한 행씩 바로 쓰고, 가져오기는 한 행씩 읽어 DatabaseHelper.Importer 에 넘기므로
+// 세션 수와 무관하게 메모리 사용량이 일정하다 (일별 통계만 날짜당 int 4개씩 모았다가 마지막에 병합)
+//
+// CSV: 종류별 헤더 행 다음에 "session,시작,종료,종류,계획,실제" 행과 "day,yyyy-MM-dd,집중,휴식,긴 휴식" 행
+// JSON: {"format":"pomodoro-stats","version":1,"sessions":[{...}],"days":[{...}]}
+public final class StatsBackup {
+    private static final String TAG = "StatsBackup";
+    private static final int IMPORT_BATCH_SIZE = 2000;
+    private static final String FORMAT_NAME = "pomodoro-stats";
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String KIND_HEADER = "kind";
+    private static final String KIND_SESSION = "session";
+    private static final String KIND_DAY = "day";
+    private static final String SESSION_HEADER = "kind,start_time,end_time,type,planned_duration,actual_duration";
+    private static final String DAY_HEADER = "kind,date,focus_count,break_count,long_break_count";
+
+    private static final String FIELD_START_TIME = "start_time";
+    private static final String FIELD_END_TIME = "end_time";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_PLANNED_DURATION = "planned_duration";
+    private static final String FIELD_ACTUAL_DURATION = "actual_duration";
+    private static final String FIELD_DATE = "date";
+    private static final String FIELD_FOCUS_COUNT = "focus_count";
+    private static final String FIELD_BREAK_COUNT = "break_count";
+    private static final String FIELD_LONG_BREAK_COUNT = "long_break_count";
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        JSON("application/json", "json");
+
+        public final String mimeType;
+        public final String extension;
+
+        Format(String mimeType, String extension) {
+            this.mimeType = mimeType;
+            this.extension = extension;
+        }
+    }
+
+    // 내보내기/가져오기 결과 행 수
+    public static final class Result {
+        // 내보낸 세션 수 또는 새로 추가된 세션 수
+        public final int sessions;
+        // 이미 있어서 건너뛴 세션 수 (가져오기)
+        public final int duplicateSessions;
+        // 내보내거나 병합한 일별 통계 행 수
+        public final int days;
+        // 형식이 맞지 않아 건너뛴 행 수 (가져오기)
+        public final int rejectedRows;
+
+        Result(int sessions, int duplicateSessions, int days, int rejectedRows) {
+            this.sessions = sessions;
+            this.duplicateSessions = duplicateSessions;
+            this.days = days;
+            this.rejectedRows = rejectedRows;
+        }
+    }
+
+    private StatsBackup() {
+    }
+
+    static Result export(DatabaseHelper helper, Writer out, Format format) throws IOException {
+        int sessions;
+        int days;
+        if (format == Format.CSV) {
+            out.write(SESSION_HEADER);
+            out.write('\n');
+            try (Cursor cursor = helper.querySessionsForExport()) {
+                sessions = writeSessionsCsv(cursor, out);
+            }
+            out.write(DAY_HEADER);
+            out.write('\n');
+            try (Cursor cursor = helper.queryDailyStatsForExport()) {
+                days = writeDaysCsv(cursor, out);
+            }
+        } else {
+            out.write("{\"format\":\"" + FORMAT_NAME + "\",\"version\":" + FORMAT_VERSION + ",\n\"sessions\":[");
+            try (Cursor cursor = helper.querySessionsForExport()) {
+                sessions = writeSessionsJson(cursor, out);
+            }
+            out.write("],\n\"days\":[");
+            try (Cursor cursor = helper.queryDailyStatsForExport()) {
+                days = writeDaysJson(cursor, out);
+            }
+            out.write("]}\n");
+        }
+        out.flush();
+        return new Result(sessions, 0, days, 0);
+    }
+
+    // 첫 글자가 '{' 면 JSON, 아니면 CSV 로 읽음
+    static Result importFrom(DatabaseHelper helper, Reader source) throws IOException {
+        BufferedReader in = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        in.mark(1);
+        int first = in.read();
+        while (first == '\uFEFF' || (first != -1 && Character.isWhitespace(first))) {
+            in.mark(1);
+            first = in.read();
+        }
+        in.reset();
+
+        DatabaseHelper.Importer importer = helper.newImporter(IMPORT_BATCH_SIZE);
+        int rejected;
+        boolean success = false;
+        try {
+            rejected = first == '{' ? readJson(in, importer) : readCsv(in, importer);
+            success = true;
+        } finally {
+            // 일별 통계는 finish 에서 병합되므로 결과는 그 뒤에 만듦
+            importer.finish(success);
+        }
+        return new Result(importer.sessionsImported, importer.duplicateSessions, importer.daysMerged, rejected);
+    }
+
+    private static int writeSessionsCsv(Cursor cursor, Writer out) throws IOException {
+        int rows = 0;
+        while (cursor.moveToNext()) {
+            out.write(KIND_SESSION);
+            out.write(',');
+            out.write(Long.toString(cursor.getLong(0)));
+            out.write(',');
+            out.write(Long.toString(cursor.getLong(1)));
+            out.write(',');
+            out.write(cursor.getString(2));
+            out.write(',');
+            out.write(Long.toString(cursor.getLong(3)));
+            out.write(',');
+            out.write(Long.toString(cursor.getLong(4)));
+            out.write('\n');
+            rows++;
+        }
+        return rows;
+    }
+
+    private static int writeDaysCsv(Cursor cursor, Writer out) throws IOException {
+        int rows = 0;
+        while (cursor.moveToNext()) {
+            out.write(KIND_DAY);
+            out.write(',');
+            out.write(EpochDays.format(cursor.getInt(0)));
+            out.write(',');
+            out.write(Integer.toString(cursor.getInt(1)));
+            out.write(',');
+            out.write(Integer.toString(cursor.getInt(2)));
+            out.write(',');
+            out.write(Integer.toString(cursor.getInt(3)));
+            out.write('\n');
+            rows++;
+        }
+        return rows;
+    }
+
+    private static int writeSessionsJson(Cursor cursor, Writer out) throws IOException {
+        int rows = 0;
+        while (cursor.moveToNext()) {
+            out.write(rows == 0 ? "\n{\"" : ",\n{\"");
+            out.write(FIELD_START_TIME);
+            out.write("\":");
+            out.write(Long.toString(cursor.getLong(0)));
+            out.write(",\"");
+            out.write(FIELD_END_TIME);
+            out.write("\":");
+            out.write(Long.toString(cursor.getLong(1)));
+            out.write(",\"");
+            out.write(FIELD_TYPE);
+            // 종류 값은 TYPE_* 상수뿐이므로 이스케이프할 문자가 없음
+            out.write("\":\"");
+            out.write(cursor.getString(2));
+            out.write("\",\"");
+            out.write(FIELD_PLANNED_DURATION);
+            out.write("\":");
+            out.write(Long.toString(cursor.getLong(3)));
+            out.write(",\"");
+            out.write(FIELD_ACTUAL_DURATION);
+            out.write("\":");
+            out.write(Long.toString(cursor.getLong(4)));
+            out.write('}');
+            rows++;
+        }
+        return rows;
+    }
+
+    private static int writeDaysJson(Cursor cursor, Writer out) throws IOException {
+        int rows = 0;
+        while (cursor.moveToNext()) {
+            out.write(rows == 0 ? "\n{\"" : ",\n{\"");
+            out.write(FIELD_DATE);
+            out.write("\":\"");
+            out.write(EpochDays.format(cursor.getInt(0)));
+            out.write("\",\"");
+            out.write(FIELD_FOCUS_COUNT);
+            out.write("\":");
+            out.write(Integer.toString(cursor.getInt(1)));
+            out.write(",\"");
+            out.write(FIELD_BREAK_COUNT);
+            out.write("\":");
+            out.write(Integer.toString(cursor.getInt(2)));
+            out.write(",\"");
+            out.write(FIELD_LONG_BREAK_COUNT);
+            out.write("\":");
+            out.write(Integer.toString(cursor.getInt(3)));
+            out.write('}');
+            rows++;
+        }
+        return rows;
+    }
+
+    // CSV 를 한 줄씩 읽어 넣고, 형식이 맞지 않는 행 수를 반환
+    private static int readCsv(BufferedReader in, DatabaseHelper.Importer importer) throws IOException {
+        int rejected = 0;
+        String[] fields = new String[6];
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            int count = split(line, fields);
+            try {
+                if (KIND_SESSION.equals(fields[0]) && count == 6) {
+                    if (!addSession(importer, fields[3], Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                            Long.parseLong(fields[4]), Long.parseLong(fields[5]))) {
+                        rejected++;
+                    }
+                } else if (KIND_DAY.equals(fields[0]) && count == 5) {
+                    if (!mergeDay(importer, EpochDays.parse(fields[1]), Integer.parseInt(fields[2]),
+                            Integer.parseInt(fields[3]), Integer.parseInt(fields[4]))) {
+                        rejected++;
+                    }
+                } else if (!KIND_HEADER.equals(fields[0])) {
+                    rejected++;
+                }
+            } catch (IllegalArgumentException e) {
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            Log.w(TAG, "Skipped " + rejected + " malformed CSV rows");
+        }
+        return rejected;
+    }
+
+    // 쉼표로 나눈 필드를 fields 에 채우고 필드 수를 반환 (값에 쉼표/따옴표가 들어가지 않는 형식)
+    private static int split(String line, String[] fields) {
+        int count = 0;
+        int start = 0;
+        while (true) {
+            int comma = line.indexOf(',', start);
+            String field = comma < 0 ? line.substring(start) : line.substring(start, comma);
+            if (count < fields.length) {
+                fields[count] = field.trim();
+            }
+            count++;
+            if (comma < 0) {
+                return count;
+            }
+            start = comma + 1;
+        }
+    }
+
+    private static int readJson(BufferedReader in, DatabaseHelper.Importer importer) throws IOException {
+        int rejected = 0;
+        JsonReader reader = new JsonReader(in);
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("sessions".equals(name)) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        if (!readJsonSession(reader, importer)) {
+                            rejected++;
+                        }
+                    }
+                    reader.endArray();
+                } else if ("days".equals(name)) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        if (!readJsonDay(reader, importer)) {
+                            rejected++;
+                        }
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IllegalStateException | NumberFormatException e) {
+            // 구조가 다른 JSON (배열 대신 객체 등)
+            throw new IOException("Unexpected JSON structure", e);
+        }
+        if (rejected > 0) {
+            Log.w(TAG, "Skipped " + rejected + " malformed JSON records");
+        }
+        return rejected;
+    }
+
+    private static boolean readJsonSession(JsonReader reader, DatabaseHelper.Importer importer) throws IOException {
+        long startTime = -1;
+        long endTime = -1;
+        long planned = -1;
+        long actual = -1;
+        String type = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+            } else if (FIELD_START_TIME.equals(name)) {
+                startTime = reader.nextLong();
+            } else if (FIELD_END_TIME.equals(name)) {
+                endTime = reader.nextLong();
+            } else if (FIELD_TYPE.equals(name)) {
+                type = reader.nextString();
+            } else if (FIELD_PLANNED_DURATION.equals(name)) {
+                planned = reader.nextLong();
+            } else if (FIELD_ACTUAL_DURATION.equals(name)) {
+                actual = reader.nextLong();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return addSession(importer, type, startTime, endTime, planned, actual);
+    }
+
+    private static boolean readJsonDay(JsonReader reader, DatabaseHelper.Importer importer) throws IOException {
+        String date = null;
+        int focus = -1;
+        int breaks = -1;
+        int longBreaks = -1;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+            } else if (FIELD_DATE.equals(name)) {
+                date = reader.nextString();
+            } else if (FIELD_FOCUS_COUNT.equals(name)) {
+                focus = reader.nextInt();
+            } else if (FIELD_BREAK_COUNT.equals(name)) {
+                breaks = reader.nextInt();
+            } else if (FIELD_LONG_BREAK_COUNT.equals(name)) {
+                longBreaks = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (date == null) {
+            return false;
+        }
+        int epochDay;
+        try {
+            epochDay = EpochDays.parse(date);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return mergeDay(importer, epochDay, focus, breaks, longBreaks);
+    }
+
+    // CSV 와 JSON 이 같은 검사를 거쳐 넣도록 하는 공통 경로: 음수 시각/길이나 모르는 종류는 거부
+    private static boolean addSession(DatabaseHelper.Importer importer, String type, long startTime, long endTime,
+                                      long planned, long actual) {
+        if (startTime < 0 || endTime < 0 || planned < 0 || actual < 0 || !isSessionType(type)) {
+            return false;
+        }
+        importer.addSession(type, startTime, endTime, planned, actual);
+        return true;
+    }
+
+    // 음수 횟수는 거부
+    private static boolean mergeDay(DatabaseHelper.Importer importer, int epochDay, int focus, int breaks,
+                                    int longBreaks) {
+        if (focus < 0 || breaks < 0 || longBreaks < 0) {
+            return false;
+        }
+        importer.mergeDay(epochDay, focus, breaks, longBreaks);
+        return true;
+    }
+
+    private static boolean isSessionType(String type) {
+        return DatabaseHelper.TYPE_FOCUS.equals(type) || DatabaseHelper.TYPE_BREAK.equals(type)
+                || DatabaseHelper.TYPE_LONG_BREAK.equals(type);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.pomodorotimerapp.data;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 범위/단위별 통계 조회 결과를 담는 크기 제한 LRU 캐시
+// 세션이 추가되면 그 날짜의 버킷을 포함하는 항목만 지우고, 초기화하면 전부 지운다
+// 읽기 스레드와 쓰기 스레드가 함께 쓰므로 모든 접근은 이 객체로 동기화한다
+public class StatsCache {
+    private final int maxEntries;
+    private final LinkedHashMap<Key, StatsSeries> entries;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    StatsCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        // accessOrder = true: 조회할 때마다 가장 최근으로 옮겨 LRU 순서 유지
+        this.entries = new LinkedHashMap<Key, StatsSeries>(maxEntries, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, StatsSeries> eldest) {
+                if (size() > StatsCache.this.maxEntries) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // 캐시된 결과, 없으면 null
+    synchronized StatsSeries get(int fromDay, int toDay, StatsGranularity granularity) {
+        StatsSeries stats = entries.get(new Key(fromDay, toDay, granularity));
+        if (stats != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return stats;
+    }
+
+    // 조회 결과 저장 (StatsSeries 는 불변이므로 그대로 공유)
+    synchronized void put(int fromDay, int toDay, StatsGranularity granularity, StatsSeries stats) {
+        entries.put(new Key(fromDay, toDay, granularity), stats);
+    }
+
+    // epochDay 에 세션이 추가됨: 그 날짜가 속한 버킷을 범위에 포함하는 항목만 제거
+    synchronized void invalidateDay(int epochDay) {
+        Iterator<Key> iterator = entries.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().covers(epochDay)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private static final class Key {
+        final int fromDay;
+        final int toDay;
+        final StatsGranularity granularity;
+
+        Key(int fromDay, int toDay, StatsGranularity granularity) {
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+            this.granularity = granularity;
+        }
+
+        // 범위 양 끝이 걸친 버킷은 통째로 조회되므로 버킷 단위로 비교
+        boolean covers(int epochDay) {
+            int bucket = granularity.bucketOf(epochDay);
+            return bucket >= granularity.bucketOf(fromDay) && bucket <= granularity.bucketOf(toDay);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return fromDay == other.fromDay && toDay == other.toDay && granularity == other.granularity;
+        }
+
+        @Override
+        public int hashCode() {
+            return (fromDay * 31 + toDay) * 31 + granularity.hashCode();
+        }
+    }
+}
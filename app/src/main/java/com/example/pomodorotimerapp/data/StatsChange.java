@@ -0,0 +1,25 @@
+package com.example.pomodorotimerapp.data;
+
+// 통계 데이터 변경 알림 (StatsRepository 가 쓰기를 마친 뒤 메인 스레드에서 전달)
+public final class StatsChange {
+    // 세션 하나 추가가 아닌 변경 (초기화 등)
+    public static final int NO_DAY = Integer.MIN_VALUE;
+
+    // 변경 후 데이터 버전 (쓰기마다 1씩 증가)
+    public final long version;
+    // 추가된 세션이 집계된 날짜, 세션 하나 추가가 아니면 NO_DAY
+    public final int epochDay;
+    // 추가된 세션의 DatabaseHelper.TYPE_* 값
+    public final String type;
+
+    StatsChange(long version, int epochDay, String type) {
+        this.version = version;
+        this.epochDay = epochDay;
+        this.type = type;
+    }
+
+    // 세션 하나가 추가된 변경이면 화면에서 해당 막대만 갱신할 수 있음
+    public boolean isSingleSession() {
+        return epochDay != NO_DAY;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.pomodorotimerapp.data;
+
+// 통계 집계 단위와 epoch day <-> 버킷 키 변환
+// 주 단위는 월요일 시작, 월 버킷은 (연 * 12 + 월 - 1), 연 버킷은 연도 그대로
+public enum StatsGranularity {
+    DAY(0),
+    WEEK(1),
+    MONTH(2),
+    YEAR(3);
+
+    // stats_rollup.granularity 컬럼에 저장되는 값
+    public final int code;
+
+    StatsGranularity(int code) {
+        this.code = code;
+    }
+
+    // 날짜가 속한 버킷 키
+    public int bucketOf(int epochDay) {
+        switch (this) {
+            case WEEK:
+                // 1970-01-01 은 목요일이므로 +3 하면 월요일이 0 이 된다
+                return epochDay - Math.floorMod(epochDay + 3, 7);
+            case MONTH:
+                return EpochDays.year(epochDay) * 12 + EpochDays.month(epochDay) - 1;
+            case YEAR:
+                return EpochDays.year(epochDay);
+            default:
+                return epochDay;
+        }
+    }
+
+    // 버킷의 첫 날 (epoch day)
+    public int firstDayOf(int bucket) {
+        switch (this) {
+            case MONTH:
+                return EpochDays.of(Math.floorDiv(bucket, 12), Math.floorMod(bucket, 12) + 1, 1);
+            case YEAR:
+                return EpochDays.of(bucket, 1, 1);
+            default:
+                return bucket;
+        }
+    }
+
+    // 버킷의 마지막 날 (epoch day)
+    public int lastDayOf(int bucket) {
+        switch (this) {
+            case WEEK:
+                return bucket + 6;
+            case MONTH:
+            case YEAR:
+                return firstDayOf(bucket + 1) - 1;
+            default:
+                return bucket;
+        }
+    }
+}
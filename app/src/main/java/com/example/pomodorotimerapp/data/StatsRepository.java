@@ -0,0 +1,429 @@
+package com.example.pomodorotimerapp.data;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.pomodorotimerapp.metrics.Counter;
+import com.example.pomodorotimerapp.metrics.Histogram;
+import com.example.pomodorotimerapp.metrics.Metrics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// DatabaseHelper 접근을 메인 스레드 밖으로 옮기는 저장소 계층
+// 쓰기는 단일 스레드에서 순서대로, 읽기는 별도 스레드 풀에서 실행하고 결과는 메인 스레드 콜백으로 전달한다
+// 세션 기록은 바로 쓰지 않고 모아 두었다가 짧은 시간 창 안에 한 트랜잭션으로 커밋한다 (그룹 커밋)
+// 초기화는 범위를 가리는 표시만 남기고, 실행 취소 기간이 지나면 쓰기 스레드에서 실제로 지운 뒤 VACUUM 한다
+// 쓰기가 끝날 때마다 데이터 버전을 올리고 ChangeListener 에 알려, 화면이 바뀐 것이 없으면 다시 조회하지 않도록 한다
+public class StatsRepository {
+    // 조회 중에 쓰기가 겹쳐서 결과가 어느 버전인지 알 수 없음
+    public static final long UNKNOWN_VERSION = -1;
+
+    private static final String TAG = "StatsRepository";
+
+    private static final int READER_THREADS = 2;
+    // 범위 3개 x 며칠 치 기준 날짜를 담기에 충분한 크기
+    private static final int CACHE_ENTRIES = 16;
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+    // 첫 세션 기록 후 커밋까지 최대 대기 시간
+    static final long GROUP_COMMIT_WINDOW_MS = 200;
+    // 이만큼 쌓이면 시간 창을 기다리지 않고 바로 커밋
+    static final int GROUP_COMMIT_MAX_SESSIONS = 256;
+    // 초기화 후 실행 취소할 수 있는 시간, 지나면 가려 둔 기록을 지움
+    public static final long UNDO_WINDOW_MS = 10_000;
+
+    // DatabaseHelper 호출 시간 (조회 / 쓰기 트랜잭션)
+    private static final Histogram DB_READ =
+            Metrics.histogram("db.read", Metrics.UNIT_MICROS, Metrics.MICROS_BOUNDS);
+    private static final Histogram DB_WRITE =
+            Metrics.histogram("db.write", Metrics.UNIT_MICROS, Metrics.MICROS_BOUNDS);
+    private static final Counter CACHE_HITS = Metrics.counter("stats.cache_hits");
+    private static final Counter SESSIONS_COMMITTED = Metrics.counter("stats.sessions_committed");
+    // 변경 알림 한 번에 호출한 ChangeListener 수
+    private static final Histogram CHANGE_FAN_OUT =
+            Metrics.histogram("observers.stats_change_fan_out", Metrics.UNIT_COUNT, Metrics.FAN_OUT_BOUNDS);
+
+    private static volatile StatsRepository instance;
+
+    // DatabaseHelper 는 첫 쿼리 때 백그라운드 스레드에서 만든다 (앱 시작 경로에서 제외)
+    private final Supplier<DatabaseHelper> dbHelperFactory;
+    private volatile DatabaseHelper dbHelper;
+    private final ScheduledExecutorService writeExecutor;
+    private final ExecutorService readExecutor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final StatsCache cache = new StatsCache(CACHE_ENTRIES);
+
+    // 쓰기 스레드에서만 증가: 시작한 쓰기 수와 끝난 쓰기 수(= 데이터 버전)
+    private final AtomicLong startedWrites = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    // 메인 스레드에서만 접근
+    private final List<ChangeListener> changeListeners = new ArrayList<>();
+    // 커밋을 기다리는 세션 기록 (자기 자신으로 동기화)
+    private final ArrayList<PendingSession> pendingSessions = new ArrayList<>();
+
+    // 조회 결과와 그 결과가 반영하는 데이터 버전을 메인 스레드에서 받는 콜백
+    public interface StatsCallback {
+        void onResult(StatsSeries stats, long version);
+    }
+
+    // 내보내기 결과 (메인 스레드), 실패하면 result 는 null 이고 error 가 원인
+    public interface TransferCallback {
+        void onComplete(StatsBackup.Result result, IOException error);
+    }
+
+    // 가져오기 결과 (메인 스레드). undoEnded 면 실행 취소 기간 안이던 초기화를 더 이상 되돌릴 수 없음
+    public interface ImportCallback {
+        void onComplete(StatsBackup.Result result, boolean undoEnded, IOException error);
+    }
+
+    // 초기화 결과 (메인 스레드), resetId 는 undoReset 에 넘김
+    public interface ResetCallback {
+        void onReset(long resetId);
+    }
+
+    // 데이터 변경 알림 (메인 스레드)
+    public interface ChangeListener {
+        void onStatsChanged(StatsChange change);
+    }
+
+    public static StatsRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (StatsRepository.class) {
+                if (instance == null) {
+                    Context appContext = context.getApplicationContext();
+                    instance = new StatsRepository(() -> DatabaseHelper.getInstance(appContext));
+                }
+            }
+        }
+        return instance;
+    }
+
+    StatsRepository(DatabaseHelper dbHelper) {
+        this(() -> dbHelper);
+    }
+
+    StatsRepository(Supplier<DatabaseHelper> dbHelperFactory) {
+        this.dbHelperFactory = dbHelperFactory;
+        this.writeExecutor = Executors.newSingleThreadScheduledExecutor(namedThreadFactory("stats-writer"));
+        this.readExecutor = Executors.newFixedThreadPool(READER_THREADS, namedThreadFactory("stats-reader"));
+        // 지난 실행에서 정리하지 못하고 종료된 초기화 표시도 실행 취소 기간 뒤에 정리
+        schedulePurge();
+    }
+
+    // 완료된 세션 기록 (GROUP_COMMIT_WINDOW_MS 안에 다른 기록과 함께 쓰기 스레드에서 커밋)
+    public void addSession(String type, long startTime, long endTime, long plannedDuration, long actualDuration) {
+        addSession(type, startTime, endTime, plannedDuration, actualDuration, null);
+    }
+
+    // 커밋이 끝나면 onComplete 를 메인 스레드에서 호출
+    public void addSession(String type, long startTime, long endTime, long plannedDuration, long actualDuration,
+                           Runnable onComplete) {
+        int pending;
+        synchronized (pendingSessions) {
+            pendingSessions.add(new PendingSession(type, startTime, endTime, plannedDuration, actualDuration, onComplete));
+            pending = pendingSessions.size();
+        }
+        if (pending >= GROUP_COMMIT_MAX_SESSIONS) {
+            writeExecutor.execute(this::commitPendingSessions);
+        } else if (pending == 1) {
+            // 창을 여는 첫 기록만 커밋을 예약 (이미 비워졌다면 예약된 작업은 아무것도 하지 않음)
+            writeExecutor.schedule(this::commitPendingSessions, GROUP_COMMIT_WINDOW_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 기다리는 세션 기록을 바로 커밋 (화면이 사라질 때 등, 프로세스가 정리되기 전에 기록을 남김)
+    public void flush() {
+        writeExecutor.execute(this::commitPendingSessions);
+    }
+
+    // 범위/단위별 통계 조회 (캐시에 있으면 바로, 없으면 읽기 스레드에서 조회 후 메인 스레드로 결과 전달)
+    public void loadStats(int fromDay, int toDay, StatsGranularity granularity, StatsCallback callback) {
+        // 조회 전후로 진행 중이거나 새로 시작된 쓰기가 없을 때만 결과의 버전이 확정된다
+        long cachedVersion = version.get();
+        long cachedStarted = startedWrites.get();
+        StatsSeries cached = cache.get(fromDay, toDay, granularity);
+        if (cached != null) {
+            CACHE_HITS.increment();
+            long resultVersion = cachedStarted == cachedVersion ? cachedVersion : UNKNOWN_VERSION;
+            mainHandler.post(() -> callback.onResult(cached, resultVersion));
+            return;
+        }
+        readExecutor.execute(() -> {
+            long versionBefore = version.get();
+            long startedBefore = startedWrites.get();
+            long start = System.nanoTime();
+            StatsSeries stats = db().getStats(fromDay, toDay, granularity);
+            DB_READ.recordSince(start);
+            long resultVersion = startedBefore == versionBefore && startedWrites.get() == startedBefore
+                    ? versionBefore : UNKNOWN_VERSION;
+            // 쓰기의 무효화는 캐시 잠금 안에서 일어나므로, 잠금 안에서 새 쓰기가 없음을 확인하고 저장
+            synchronized (cache) {
+                if (resultVersion != UNKNOWN_VERSION && startedWrites.get() == resultVersion) {
+                    cache.put(fromDay, toDay, granularity, stats);
+                }
+            }
+            mainHandler.post(() -> callback.onResult(stats, resultVersion));
+        });
+    }
+
+    // 캐시 적중/실패/축출 횟수 확인용
+    public StatsCache getCache() {
+        return cache;
+    }
+
+    // 현재 데이터 버전 (완료된 쓰기 수)
+    public long getVersion() {
+        return version.get();
+    }
+
+    public void addChangeListener(ChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    // 전체 통계 초기화, 완료되면 onComplete 를 메인 스레드에서 호출
+    public void resetStats(Runnable onComplete) {
+        resetRange(Integer.MIN_VALUE, Integer.MAX_VALUE, onComplete == null ? null : resetId -> onComplete.run());
+    }
+
+    // [fromDay, toDay] 범위 초기화. 지금까지의 기록을 가리는 표시만 추가하므로 기록 양과 무관하게 바로 끝나고,
+    // UNDO_WINDOW_MS 안에는 undoReset 으로 되돌릴 수 있다. 이후 기록되는 세션은 범위 안이어도 보인다
+    public void resetRange(int fromDay, int toDay, ResetCallback callback) {
+        writeExecutor.execute(() -> {
+            // 초기화 전에 요청된 기록은 초기화 대상
+            commitPendingSessions();
+            long[] resetId = new long[1];
+            write(() -> resetId[0] = db().addTombstone(fromDay, toDay), StatsChange.NO_DAY, null);
+            schedulePurge();
+            if (callback != null) {
+                mainHandler.post(() -> callback.onReset(resetId[0]));
+            }
+        });
+    }
+
+    // 초기화 실행 취소 (실행 취소 기간이 지나 이미 지워졌다면 아무것도 바뀌지 않음)
+    public void undoReset(long resetId, Runnable onComplete) {
+        writeExecutor.execute(() -> {
+            write(() -> db().removeTombstone(resetId), StatsChange.NO_DAY, null);
+            if (onComplete != null) {
+                mainHandler.post(onComplete);
+            }
+        });
+    }
+
+    // 실행 취소 기간이 지난 초기화 표시를 정리하도록 예약
+    private void schedulePurge() {
+        writeExecutor.schedule(() -> purgeResets(System.currentTimeMillis() - UNDO_WINDOW_MS),
+                UNDO_WINDOW_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // 쓰기 스레드에서 호출: 가려진 기록을 실제로 지우고 정리한 초기화 수를 반환. 조회 결과는 같으므로 버전과 캐시는 그대로 둔다
+    private int purgeResets(long createdBefore) {
+        return db().purgeTombstones(createdBefore);
+    }
+
+    // 전체 기록을 SAF 문서로 내보냄. 쓰기 스레드에서 실행해 내보내는 도중에 기록이 바뀌지 않도록 한다
+    public void exportStats(ContentResolver resolver, Uri uri, StatsBackup.Format format, TransferCallback callback) {
+        writeExecutor.execute(() -> {
+            commitPendingSessions();
+            StatsBackup.Result result = null;
+            IOException error = null;
+            try (OutputStream stream = resolver.openOutputStream(uri, "wt")) {
+                if (stream == null) {
+                    throw new FileNotFoundException(uri.toString());
+                }
+                Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8),
+                        TRANSFER_BUFFER_SIZE);
+                result = StatsBackup.export(db(), out, format);
+            } catch (IOException e) {
+                error = e;
+            }
+            postTransferResult(callback, result, error);
+        });
+    }
+
+    // SAF 문서에서 기록을 가져와 합침 (CSV/JSON 자동 판별). 여러 날짜가 바뀌므로 캐시를 모두 비우고 전체 변경으로 알린다
+    public void importStats(ContentResolver resolver, Uri uri, ImportCallback callback) {
+        writeExecutor.execute(() -> {
+            commitPendingSessions();
+            // 가려진 세션이 중복으로 판정되어 가져온 기록까지 사라지지 않도록 초기화 표시를 정리함
+            // 기간이 지난 표시를 먼저 정리하고, 그 뒤에도 남아 있던 표시는 실행 취소 기간을 앞당겨 끝낸 것이므로 알림
+            purgeResets(System.currentTimeMillis() - UNDO_WINDOW_MS);
+            boolean undoEnded = purgeResets(Long.MAX_VALUE) > 0;
+            StatsBackup.Result[] result = new StatsBackup.Result[1];
+            IOException[] error = new IOException[1];
+            write(() -> {
+                try (InputStream stream = resolver.openInputStream(uri)) {
+                    if (stream == null) {
+                        throw new FileNotFoundException(uri.toString());
+                    }
+                    Reader in = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8),
+                            TRANSFER_BUFFER_SIZE);
+                    result[0] = StatsBackup.importFrom(db(), in);
+                } catch (IOException e) {
+                    error[0] = e;
+                }
+            }, StatsChange.NO_DAY, null);
+            if (callback != null) {
+                mainHandler.post(() -> callback.onComplete(result[0], undoEnded, error[0]));
+            }
+        });
+    }
+
+    private void postTransferResult(TransferCallback callback, StatsBackup.Result result, IOException error) {
+        if (callback != null) {
+            mainHandler.post(() -> callback.onComplete(result, error));
+        }
+    }
+
+    // 쓰기 스레드에서 호출: 모인 세션 기록을 한 트랜잭션으로 커밋하고, 세션마다 버전을 하나씩 올려 알림
+    // 화면은 세션 하나짜리 변경을 연달아 받으므로 조회 없이 각 막대만 갱신할 수 있다
+    private void commitPendingSessions() {
+        ArrayList<PendingSession> batch;
+        synchronized (pendingSessions) {
+            if (pendingSessions.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pendingSessions);
+            pendingSessions.clear();
+        }
+        int count = batch.size();
+        startedWrites.addAndGet(count);
+        boolean completed = false;
+        try {
+            DatabaseHelper helper = db();
+            long start = System.nanoTime();
+            helper.runInTransaction(() -> {
+                for (int i = 0; i < count; i++) {
+                    PendingSession session = batch.get(i);
+                    helper.addSession(session.type, session.startTime, session.endTime,
+                            session.plannedDuration, session.actualDuration);
+                }
+            });
+            DB_WRITE.recordSince(start);
+            SESSIONS_COMMITTED.add(count);
+            completed = true;
+        } catch (RuntimeException e) {
+            // 같은 이유로 다시 실패할 수 있으므로 다시 넣지 않고 버리되, 실행기 안에서 예외가 사라지지 않도록 남김
+            Log.e(TAG, "Failed to commit " + count + " sessions", e);
+        } finally {
+            if (completed) {
+                for (int i = 0; i < count; i++) {
+                    PendingSession session = batch.get(i);
+                    int epochDay = EpochDays.fromMillis(session.endTime);
+                    cache.invalidateDay(epochDay);
+                    notifyChanged(version.incrementAndGet(), epochDay, session.type);
+                }
+            } else {
+                cache.invalidateAll();
+                notifyChanged(version.addAndGet(count), StatsChange.NO_DAY, null);
+            }
+            // 실패해도 기다리는 쪽(알람 리시버의 goAsync 등)이 끝날 수 있도록 완료 콜백은 항상 호출
+            for (int i = 0; i < count; i++) {
+                Runnable onComplete = batch.get(i).onComplete;
+                if (onComplete != null) {
+                    mainHandler.post(onComplete);
+                }
+            }
+        }
+    }
+
+    // 쓰기 스레드에서 호출: 쓰기를 실행한 뒤 캐시를 무효화하고 버전을 올려 리스너에 알림
+    // 쓰기가 실패해도 버전은 올리며, 이때는 캐시를 모두 비우고 화면이 전체를 다시 조회하도록 세션 정보 없이 알린다
+    private void write(Runnable write, int epochDay, String type) {
+        startedWrites.incrementAndGet();
+        boolean completed = false;
+        try {
+            long start = System.nanoTime();
+            write.run();
+            DB_WRITE.recordSince(start);
+            completed = true;
+        } finally {
+            int changedDay = completed ? epochDay : StatsChange.NO_DAY;
+            if (changedDay == StatsChange.NO_DAY) {
+                cache.invalidateAll();
+            } else {
+                cache.invalidateDay(changedDay);
+            }
+            notifyChanged(version.incrementAndGet(), changedDay, completed ? type : null);
+        }
+    }
+
+    private void notifyChanged(long newVersion, int epochDay, String type) {
+        StatsChange change = new StatsChange(newVersion, epochDay, type);
+        mainHandler.post(() -> {
+            CHANGE_FAN_OUT.record(changeListeners.size());
+            for (int i = 0; i < changeListeners.size(); i++) {
+                changeListeners.get(i).onStatsChanged(change);
+            }
+        });
+    }
+
+    private DatabaseHelper db() {
+        DatabaseHelper helper = dbHelper;
+        if (helper == null) {
+            synchronized (this) {
+                helper = dbHelper;
+                if (helper == null) {
+                    helper = dbHelperFactory.get();
+                    dbHelper = helper;
+                }
+            }
+        }
+        return helper;
+    }
+
+    private static final class PendingSession {
+        final String type;
+        final long startTime;
+        final long endTime;
+        final long plannedDuration;
+        final long actualDuration;
+        final Runnable onComplete;
+
+        PendingSession(String type, long startTime, long endTime, long plannedDuration, long actualDuration,
+                       Runnable onComplete) {
+            this.type = type;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.plannedDuration = plannedDuration;
+            this.actualDuration = actualDuration;
+            this.onComplete = onComplete;
+        }
+    }
+
+    private static ThreadFactory namedThreadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.pomodorotimerapp.data;
+
+import android.database.Cursor;
+
+import java.util.Arrays;
+
+// 날짜(버킷 첫 날) 오름차순 통계 행을 계열별 int 배열로 담는 불변 구조
+// 행마다 DailyStats 객체와 날짜 문자열을 만드는 대신 배열 4개만 사용하며, 캐시와 화면이 공유하므로 배열을 수정하면 안 된다
+public final class StatsSeries {
+    public static final StatsSeries EMPTY = new StatsSeries(new int[0], new int[0], new int[0], new int[0], 0);
+
+    public final int[] epochDays;
+    public final int[] focus;
+    public final int[] breaks;
+    public final int[] longBreaks;
+    private final int size;
+
+    StatsSeries(int[] epochDays, int[] focus, int[] breaks, int[] longBreaks, int size) {
+        this.epochDays = epochDays;
+        this.focus = focus;
+        this.breaks = breaks;
+        this.longBreaks = longBreaks;
+        this.size = size;
+    }
+
+    // 커서의 모든 행을 읽음. 컬럼 인덱스는 한 번만 찾고, dayColumn 값은 granularity 의 버킷 키로 보고 첫 날로 변환
+    static StatsSeries read(Cursor cursor, String dayColumn, String focusColumn, String breakColumn,
+                            String longBreakColumn, StatsGranularity granularity) {
+        int count = cursor.getCount();
+        if (count <= 0) {
+            return EMPTY;
+        }
+        int dayIndex = cursor.getColumnIndexOrThrow(dayColumn);
+        int focusIndex = cursor.getColumnIndexOrThrow(focusColumn);
+        int breakIndex = cursor.getColumnIndexOrThrow(breakColumn);
+        int longBreakIndex = cursor.getColumnIndexOrThrow(longBreakColumn);
+
+        int[] epochDays = new int[count];
+        int[] focus = new int[count];
+        int[] breaks = new int[count];
+        int[] longBreaks = new int[count];
+        int size = 0;
+        while (size < count && cursor.moveToNext()) {
+            epochDays[size] = granularity.firstDayOf(cursor.getInt(dayIndex));
+            focus[size] = cursor.getInt(focusIndex);
+            breaks[size] = cursor.getInt(breakIndex);
+            longBreaks[size] = cursor.getInt(longBreakIndex);
+            size++;
+        }
+        return new StatsSeries(epochDays, focus, breaks, longBreaks, size);
+    }
+
+    // 일 단위 계열을 granularity 버킷으로 합친 계열 (날짜 오름차순이므로 같은 버킷의 행은 연속)
+    StatsSeries rollUp(StatsGranularity granularity) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        int[] newDays = new int[size];
+        int[] newFocus = new int[size];
+        int[] newBreaks = new int[size];
+        int[] newLongBreaks = new int[size];
+        int newSize = 0;
+        int bucket = 0;
+        for (int i = 0; i < size; i++) {
+            int rowBucket = granularity.bucketOf(epochDays[i]);
+            if (newSize == 0 || rowBucket != bucket) {
+                bucket = rowBucket;
+                newDays[newSize++] = granularity.firstDayOf(bucket);
+            }
+            newFocus[newSize - 1] += focus[i];
+            newBreaks[newSize - 1] += breaks[i];
+            newLongBreaks[newSize - 1] += longBreaks[i];
+        }
+        return new StatsSeries(newDays, newFocus, newBreaks, newLongBreaks, newSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // epochDay 행의 인덱스, 없으면 -(삽입 위치) - 1
+    public int indexOf(int epochDay) {
+        return Arrays.binarySearch(epochDays, 0, size, epochDay);
+    }
+
+    public int totalFocus() {
+        return sum(focus);
+    }
+
+    public int totalBreaks() {
+        return sum(breaks);
+    }
+
+    public int totalLongBreaks() {
+        return sum(longBreaks);
+    }
+
+    // epochDay 행에 type 세션 하나를 더한 새 계열 (행이 없으면 날짜 순서에 맞게 끼워 넣음)
+    public StatsSeries plusSession(int epochDay, String type) {
+        int index = indexOf(epochDay);
+        boolean exists = index >= 0;
+        int at = exists ? index : -index - 1;
+        int newSize = exists ? size : size + 1;
+
+        int[] newDays = insertCopy(epochDays, at, exists, epochDay);
+        int[] newFocus = insertCopy(focus, at, exists, 0);
+        int[] newBreaks = insertCopy(breaks, at, exists, 0);
+        int[] newLongBreaks = insertCopy(longBreaks, at, exists, 0);
+        if (DatabaseHelper.TYPE_FOCUS.equals(type)) {
+            newFocus[at]++;
+        } else if (DatabaseHelper.TYPE_BREAK.equals(type)) {
+            newBreaks[at]++;
+        } else if (DatabaseHelper.TYPE_LONG_BREAK.equals(type)) {
+            newLongBreaks[at]++;
+        }
+        return new StatsSeries(newDays, newFocus, newBreaks, newLongBreaks, newSize);
+    }
+
+    private int[] insertCopy(int[] source, int at, boolean exists, int value) {
+        if (exists) {
+            return Arrays.copyOf(source, size);
+        }
+        int[] copy = new int[size + 1];
+        System.arraycopy(source, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(source, at, copy, at + 1, size - at);
+        return copy;
+    }
+
+    private int sum(int[] values) {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += values[i];
+        }
+        return total;
+    }
+}
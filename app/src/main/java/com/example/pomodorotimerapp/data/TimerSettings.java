@@ -0,0 +1,55 @@
+package com.example.pomodorotimerapp.data;
+
+// 타이머 설정의 불변 스냅샷 (시간은 밀리초 단위)
+public final class TimerSettings {
+    public static final TimerSettings DEFAULT = new TimerSettings(
+            25 * 60 * 1000, 5 * 60 * 1000, 15 * 60 * 1000, 4, true, true);
+
+    public final long focusTime;
+    public final long breakTime;
+    public final long longBreakTime;
+    // 긴 휴식 전까지의 사이클 수
+    public final int cyclesBeforeLongBreak;
+    // 집중 시간이 끝나면 휴식을 자동으로 시작
+    public final boolean autoStartBreak;
+    // 휴식 시간이 끝나면 다음 집중 시간을 자동으로 시작
+    public final boolean autoStartFocus;
+
+    public TimerSettings(long focusTime, long breakTime, long longBreakTime, int cyclesBeforeLongBreak,
+                         boolean autoStartBreak, boolean autoStartFocus) {
+        this.focusTime = focusTime;
+        this.breakTime = breakTime;
+        this.longBreakTime = longBreakTime;
+        this.cyclesBeforeLongBreak = cyclesBeforeLongBreak;
+        this.autoStartBreak = autoStartBreak;
+        this.autoStartFocus = autoStartFocus;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TimerSettings)) {
+            return false;
+        }
+        TimerSettings other = (TimerSettings) o;
+        return focusTime == other.focusTime
+                && breakTime == other.breakTime
+                && longBreakTime == other.longBreakTime
+                && cyclesBeforeLongBreak == other.cyclesBeforeLongBreak
+                && autoStartBreak == other.autoStartBreak
+                && autoStartFocus == other.autoStartFocus;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(focusTime);
+        result = 31 * result + Long.hashCode(breakTime);
+        result = 31 * result + Long.hashCode(longBreakTime);
+        result = 31 * result + cyclesBeforeLongBreak;
+        result = 31 * result + (autoStartBreak ? 1 : 0);
+        result = 31 * result + (autoStartFocus ? 1 : 0);
+        return result;
+    }
+}
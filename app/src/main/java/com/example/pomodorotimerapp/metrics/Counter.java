@@ -0,0 +1,29 @@
+package com.example.pomodorotimerapp.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// 잠금 없는 증가 전용 카운터 (여러 스레드가 동시에 올려도 경합이 적은 LongAdder 사용)
+public final class Counter {
+    public final String name;
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    void reset() {
+        value.reset();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.pomodorotimerapp.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 고정 구간 히스토그램: 기록은 구간 찾기 + 원자적 증가뿐이라 잠금과 할당이 없다
+// bounds[i] 이하인 값은 i 번째 구간, 마지막 경계보다 큰 값은 넘침 구간에 센다
+public final class Histogram {
+    public final String name;
+    // 값의 단위 (덤프에 함께 기록)
+    public final String unit;
+    private final long[] bounds;
+    private final AtomicLongArray buckets;
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    Histogram(String name, String unit, long[] bounds) {
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException("Bucket bounds must be increasing: " + name);
+            }
+        }
+        this.name = name;
+        this.unit = unit;
+        this.bounds = bounds.clone();
+        this.buckets = new AtomicLongArray(bounds.length + 1);
+    }
+
+    public void record(long value) {
+        // 구간은 10여 개뿐이라 선형 탐색이 이진 탐색보다 빠름
+        int index = 0;
+        while (index < bounds.length && value > bounds[index]) {
+            index++;
+        }
+        buckets.incrementAndGet(index);
+        sum.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    // System.nanoTime() 으로 잰 시작 시각부터 지금까지를 단위(ms/us)에 맞춰 기록
+    public void recordSince(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        record(Metrics.UNIT_MILLIS.equals(unit) ? elapsed / 1_000_000 : elapsed / 1_000);
+    }
+
+    long[] bounds() {
+        return bounds.clone();
+    }
+
+    // 기록 도중에 읽으면 구간별 값이 서로 조금 어긋날 수 있다 (보기와 덤프 용도로는 충분)
+    public Snapshot snapshot() {
+        long[] counts = new long[buckets.length()];
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        long currentMax = max.get();
+        return new Snapshot(bounds, counts, count, sum.sum(), count == 0 ? 0 : currentMax);
+    }
+
+    void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        sum.reset();
+        max.set(Long.MIN_VALUE);
+    }
+
+    public static final class Snapshot {
+        private final long[] bounds;
+        public final long[] counts;
+        public final long count;
+        public final long sum;
+        public final long max;
+
+        Snapshot(long[] bounds, long[] counts, long count, long sum, long max) {
+            this.bounds = bounds;
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        // fraction(0~1) 분위수가 속한 구간의 상한 (넘침 구간이면 최댓값)
+        public long percentile(double fraction) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(fraction * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return i < bounds.length ? Math.min(bounds[i], max) : max;
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.pomodorotimerapp.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 앱 전체에서 공유하는 지표 저장소
+// 계측 지점은 클래스 로드 시 counter/histogram 으로 한 번 등록해 참조를 static 필드에 두고, 이후에는 잠금 없이 기록만 한다
+// 디버그 빌드의 지표 화면(MetricsFragment)이 toJson 으로 덤프를 만든다
+public final class Metrics {
+    public static final String UNIT_MILLIS = "ms";
+    public static final String UNIT_MICROS = "us";
+    public static final String UNIT_COUNT = "count";
+
+    // tick 지연처럼 밀리초 단위로 재는 값
+    public static final long[] MILLIS_BOUNDS = {0, 1, 2, 5, 10, 20, 50, 100, 250, 500, 1000};
+    // DB 조회, 차트 그리기처럼 마이크로초 단위로 재는 값 (16.7 ms 프레임 예산 근처를 촘촘하게)
+    public static final long[] MICROS_BOUNDS = {100, 250, 500, 1_000, 2_000, 4_000, 8_000, 16_000, 32_000,
+            64_000, 128_000, 256_000, 512_000, 1_000_000};
+    // 관찰자 수
+    public static final long[] FAN_OUT_BOUNDS = {0, 1, 2, 3, 4, 6, 8, 16};
+
+    private static final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private static volatile long resetAtMillis = System.currentTimeMillis();
+
+    private Metrics() {
+    }
+
+    // 같은 이름이면 이미 등록된 카운터를 돌려줌
+    public static Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            Counter created = new Counter(name);
+            counter = counters.putIfAbsent(name, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        return counter;
+    }
+
+    // 같은 이름이면 이미 등록된 히스토그램을 돌려줌 (단위와 구간은 처음 등록한 것을 따름)
+    public static Histogram histogram(String name, String unit, long[] bounds) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            Histogram created = new Histogram(name, unit, bounds);
+            histogram = histograms.putIfAbsent(name, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        return histogram;
+    }
+
+    public static List<Counter> counters() {
+        List<Counter> list = new ArrayList<>(counters.values());
+        Collections.sort(list, (a, b) -> a.name.compareTo(b.name));
+        return list;
+    }
+
+    public static List<Histogram> histograms() {
+        List<Histogram> list = new ArrayList<>(histograms.values());
+        Collections.sort(list, (a, b) -> a.name.compareTo(b.name));
+        return list;
+    }
+
+    // 등록은 유지하고 값만 0 으로
+    public static void reset() {
+        for (Counter counter : counters.values()) {
+            counter.reset();
+        }
+        for (Histogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        resetAtMillis = System.currentTimeMillis();
+    }
+
+    // 오프라인 분석용 JSON 덤프
+    // {"since": 초기화 시각, "counters": {이름: 값}, "histograms": {이름: {unit, count, sum, max, p50, p90, p99,
+    //  "buckets": [{"le": 상한, "count": 개수}, ..., {"le": null, "count": 넘침}]}}}
+    public static String toJson() {
+        StringBuilder json = new StringBuilder(4096);
+        json.append("{\"since\":").append(resetAtMillis)
+                .append(",\"dumpedAt\":").append(System.currentTimeMillis())
+                .append(",\"counters\":{");
+        List<Counter> counterList = counters();
+        for (int i = 0; i < counterList.size(); i++) {
+            Counter counter = counterList.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            appendString(json, counter.name).append(':').append(counter.get());
+        }
+        json.append("},\"histograms\":{");
+        List<Histogram> histogramList = histograms();
+        for (int i = 0; i < histogramList.size(); i++) {
+            Histogram histogram = histogramList.get(i);
+            Histogram.Snapshot snapshot = histogram.snapshot();
+            long[] bounds = histogram.bounds();
+            if (i > 0) {
+                json.append(',');
+            }
+            appendString(json, histogram.name).append(":{\"unit\":");
+            appendString(json, histogram.unit)
+                    .append(",\"count\":").append(snapshot.count)
+                    .append(",\"sum\":").append(snapshot.sum)
+                    .append(",\"max\":").append(snapshot.max)
+                    .append(",\"p50\":").append(snapshot.percentile(0.5))
+                    .append(",\"p90\":").append(snapshot.percentile(0.9))
+                    .append(",\"p99\":").append(snapshot.percentile(0.99))
+                    .append(",\"buckets\":[");
+            for (int b = 0; b < snapshot.counts.length; b++) {
+                if (b > 0) {
+                    json.append(',');
+                }
+                json.append("{\"le\":");
+                if (b < bounds.length) {
+                    json.append(bounds[b]);
+                } else {
+                    json.append("null");
+                }
+                json.append(",\"count\":").append(snapshot.counts[b]).append('}');
+            }
+            json.append("]}");
+        }
+        return json.append("}}").toString();
+    }
+
+    // 지표 이름은 코드에서 정하는 ASCII 라서 따옴표와 역슬래시만 이스케이프
+    private static StringBuilder appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\');
+            }
+            json.append(c);
+        }
+        return json.append('"');
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.pomodorotimerapp.metrics;
+
+import androidx.tracing.Trace;
+
+import com.example.pomodorotimerapp.BuildConfig;
+
+// 시스템 트레이스(Perfetto)에 보이는 이름 붙은 구간 (androidx.tracing)
+// debug 와 benchmark 빌드에서만 기록하고 (BuildConfig.TRACE_SECTIONS),
+// release 빌드는 proguard-release.pro 의 -assumenosideeffects 규칙으로 호출 자체가 지워진다
+// 사용: TraceSection.begin("HomeViewModel.startTimer"); try { ... } finally { TraceSection.end(); }
+// 이름은 문자열 상수만 넘겨서 꺼져 있을 때 할당이 생기지 않도록 한다
+public final class TraceSection {
+    // 구간을 실제로 기록하는 곳 (테스트에서 바꿔 끼움)
+    interface Sink {
+        void begin(String name);
+
+        void end();
+    }
+
+    private static final Sink ANDROIDX_TRACE = new Sink() {
+        @Override
+        public void begin(String name) {
+            Trace.beginSection(name);
+        }
+
+        @Override
+        public void end() {
+            Trace.endSection();
+        }
+    };
+
+    private static boolean enabled = BuildConfig.TRACE_SECTIONS;
+    private static Sink sink = ANDROIDX_TRACE;
+
+    private TraceSection() {
+    }
+
+    public static void begin(String name) {
+        if (enabled) {
+            sink.begin(name);
+        }
+    }
+
+    // 같은 스레드에서 마지막으로 시작한 구간을 닫음
+    public static void end() {
+        if (enabled) {
+            sink.end();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    static void setEnabled(boolean enabled) {
+        TraceSection.enabled = enabled;
+    }
+
+    // null 이면 androidx.tracing 으로 되돌림
+    static void setSink(Sink sink) {
+        TraceSection.sink = sink == null ? ANDROIDX_TRACE : sink;
+    }
+}
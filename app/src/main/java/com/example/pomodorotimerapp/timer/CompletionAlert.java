@@ -0,0 +1,177 @@
+package com.example.pomodorotimerapp.timer;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.MediaPlayer;
+import android.media.Ringtone;
+import android.media.RingtoneManager;
+import android.net.Uri;
+import android.os.Build;
+import android.os.SystemClock;
+import android.os.VibrationEffect;
+import android.os.Vibrator;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 세션 종료 알림음과 진동
+// 세션이 시작될 때 알림음을 백그라운드 스레드에서 미리 준비해 두고, 마감 시각에는 재생과 진동만 한다
+// (알림음 조회, 플레이어 준비, Vibrator 조회가 알림 순간에 일어나지 않음)
+// 프로세스 전체에서 공유하므로 ViewModel 외에 서비스나 리시버에서도 쓸 수 있다
+public class CompletionAlert {
+    private static final String TAG = "CompletionAlert";
+    // 마감 시각부터 재생 시작까지 이보다 늦으면 로그로 남김
+    static final long LATENCY_BUDGET_MS = 100;
+    private static final long VIBRATION_MS = 1000;
+
+    private static volatile CompletionAlert instance;
+
+    private final Context context;
+    // 준비와 대체 재생은 메인 스레드 밖에서 실행
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "completion-alert"));
+    private final Vibrator vibrator;
+    // API 26 미만에서는 null
+    private final VibrationEffect vibrationEffect;
+    private final AudioAttributes audioAttributes = new AudioAttributes.Builder()
+            .setUsage(AudioAttributes.USAGE_NOTIFICATION)
+            .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+            .build();
+
+    // 아래 상태는 this 로 동기화
+    private MediaPlayer player;
+    private boolean preparing = false;
+    private boolean playing = false;
+    // 세션이 끝났으니 재생이 끝나는 대로(또는 준비가 끝나는 대로) 플레이어를 해제
+    private boolean releasePending = false;
+
+    public static CompletionAlert getInstance(Context context) {
+        if (instance == null) {
+            synchronized (CompletionAlert.class) {
+                if (instance == null) {
+                    instance = new CompletionAlert(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    CompletionAlert(Context context) {
+        this.context = context;
+        this.vibrator = (Vibrator) context.getSystemService(Context.VIBRATOR_SERVICE);
+        this.vibrationEffect = Build.VERSION.SDK_INT >= Build.VERSION_CODES.O
+                ? VibrationEffect.createOneShot(VIBRATION_MS, VibrationEffect.DEFAULT_AMPLITUDE) : null;
+    }
+
+    // 세션 시작 시 호출: 알림음 플레이어를 미리 준비 (이미 준비되었거나 준비 중이면 그대로 사용)
+    public synchronized void prepare() {
+        releasePending = false;
+        if (player != null || preparing) {
+            return;
+        }
+        preparing = true;
+        executor.execute(this::preparePlayer);
+    }
+
+    // 마감 시각(SystemClock.elapsedRealtime 기준)에 호출: 준비된 알림음 재생과 캐시된 진동
+    public void fire(long deadline) {
+        boolean started = false;
+        synchronized (this) {
+            if (player != null) {
+                // 재생이 끝난 플레이어는 start 로 처음부터 다시 재생된다
+                player.start();
+                playing = true;
+                started = true;
+            }
+        }
+        if (!started) {
+            // 아직 준비되지 않았으면 예전처럼 Ringtone 으로 재생 (메인 스레드 밖에서)
+            executor.execute(this::playFallback);
+        }
+        vibrate();
+
+        long latency = SystemClock.elapsedRealtime() - deadline;
+        if (latency > LATENCY_BUDGET_MS) {
+            Log.w(TAG, "Completion alert fired " + latency + " ms after deadline");
+        }
+    }
+
+    // 세션이 멈췄을 때 호출: 재생 중이면 재생이 끝난 뒤 해제
+    public synchronized void release() {
+        releasePending = true;
+        if (!playing) {
+            releasePlayer();
+        }
+    }
+
+    synchronized boolean isPrepared() {
+        return player != null;
+    }
+
+    synchronized boolean isPlaying() {
+        return playing;
+    }
+
+    private void preparePlayer() {
+        MediaPlayer prepared = new MediaPlayer();
+        try {
+            Uri uri = RingtoneManager.getDefaultUri(RingtoneManager.TYPE_NOTIFICATION);
+            prepared.setAudioAttributes(audioAttributes);
+            prepared.setDataSource(context, uri);
+            prepared.setOnCompletionListener(this::onPlaybackCompleted);
+            prepared.prepare();
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Could not prepare alert sound", e);
+            prepared.release();
+            prepared = null;
+        }
+        synchronized (this) {
+            preparing = false;
+            if (releasePending && prepared != null) {
+                // 준비하는 동안 세션이 멈춤
+                prepared.release();
+                prepared = null;
+            }
+            player = prepared;
+        }
+    }
+
+    private synchronized void onPlaybackCompleted(MediaPlayer mediaPlayer) {
+        playing = false;
+        if (releasePending) {
+            releasePlayer();
+        }
+    }
+
+    private void releasePlayer() {
+        if (player != null) {
+            player.release();
+            player = null;
+        }
+    }
+
+    private void playFallback() {
+        try {
+            Ringtone ringtone = RingtoneManager.getRingtone(context,
+                    RingtoneManager.getDefaultUri(RingtoneManager.TYPE_NOTIFICATION));
+            if (ringtone != null) {
+                ringtone.play();
+            }
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Could not play fallback alert sound", e);
+        }
+    }
+
+    private void vibrate() {
+        if (vibrator == null || !vibrator.hasVibrator()) {
+            return;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            vibrator.vibrate(vibrationEffect);
+        } else {
+            vibrator.vibrate(VIBRATION_MS);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.pomodorotimerapp.timer;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+// TimerEngine 의 Android 구현: elapsedRealtime 시계 + 메인 Looper Handler 스케줄러
+public class HandlerTimerScheduler implements TimerEngine.Clock, TimerEngine.Scheduler {
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    @Override
+    public long now() {
+        return SystemClock.elapsedRealtime();
+    }
+
+    @Override
+    public void scheduleAt(Runnable task, long time) {
+        // Handler 는 uptimeMillis 기준이므로 elapsedRealtime 과의 차이만큼 변환
+        long delay = Math.max(0, time - SystemClock.elapsedRealtime());
+        handler.postAtTime(task, SystemClock.uptimeMillis() + delay);
+    }
+
+    @Override
+    public void cancel(Runnable task) {
+        handler.removeCallbacks(task);
+    }
+}
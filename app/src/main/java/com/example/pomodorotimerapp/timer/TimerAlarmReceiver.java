@@ -0,0 +1,37 @@
+package com.example.pomodorotimerapp.timer;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+import com.example.pomodorotimerapp.data.StatsRepository;
+
+// 마감 시각에 울리는 정확한 알람: 앱이 세션을 처리하지 못한 경우(프로세스 종료 등) 완료를 기록하고 알린다
+public class TimerAlarmReceiver extends BroadcastReceiver {
+    static final String EXTRA_DEADLINE = "deadline";
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        long deadline = intent.getLongExtra(EXTRA_DEADLINE, -1);
+        Context appContext = context.getApplicationContext();
+        TimerSessionKeeper keeper = TimerSessionKeeper.getInstance(appContext);
+        PendingResult result = goAsync();
+
+        keeper.runInBackground(() -> {
+            TimerSession session = keeper.claimCompletion(deadline);
+            if (session == null) {
+                // 앱이 이미 완료를 기록함
+                result.finish();
+                return;
+            }
+            // 앱 화면과 같은 알림음/진동을 울리고, 재생이 끝나면 플레이어를 해제
+            CompletionAlert alert = CompletionAlert.getInstance(appContext);
+            alert.fire(deadline);
+            alert.release();
+            TimerNotifications.showCompleted(appContext, session);
+            keeper.stopService();
+            StatsRepository.getInstance(appContext).addSession(session.type, session.startTime, session.endTime,
+                    session.plannedDuration, session.actualDuration, result::finish);
+        });
+    }
+}
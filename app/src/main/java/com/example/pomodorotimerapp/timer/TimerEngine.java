@@ -0,0 +1,167 @@
+package com.example.pomodorotimerapp.timer;
+
+import com.example.pomodorotimerapp.metrics.Histogram;
+import com.example.pomodorotimerapp.metrics.Metrics;
+
+// 마감 시각(단조 시계 기준)만 저장하고 남은 시간은 필요할 때 계산하는 타이머
+// tick 이 늦게 도착해도 오차가 누적되지 않으며, 시계와 스케줄러를 바꿔 끼워 JVM 에서 테스트할 수 있다
+// 남은 시간을 보는 화면이 없으면 setTicking(false) 로 초 단위 tick 을 끄고 마감 시각에만 한 번 깨어난다
+public class TimerEngine {
+    public static final long TICK_INTERVAL = 1000;
+
+    // 예약한 시각보다 얼마나 늦게 깨어났는지 (메인 스레드가 바쁘면 커짐)
+    private static final Histogram TICK_LATENESS =
+            Metrics.histogram("timer.tick_lateness", Metrics.UNIT_MILLIS, Metrics.MILLIS_BOUNDS);
+
+    // 단조 증가하는 밀리초 시계 (Android 에서는 SystemClock.elapsedRealtime)
+    public interface Clock {
+        long now();
+    }
+
+    // 지정한 시계 시각에 작업을 실행하는 스케줄러
+    public interface Scheduler {
+        void scheduleAt(Runnable task, long time);
+
+        void cancel(Runnable task);
+    }
+
+    public interface Listener {
+        // 남은 시간이 초 경계를 지날 때마다 호출
+        void onTick(long remainingMillis);
+
+        // 마감 시각에 도달했을 때 한 번 호출
+        void onFinish();
+    }
+
+    private final Clock clock;
+    private final Scheduler scheduler;
+    private final Runnable tickTask = this::onScheduled;
+    private Listener listener;
+
+    private boolean running = false;
+    private long deadline = 0;
+    private long remainingWhenStopped = 0;
+    // 마지막으로 예약한 실행 시각
+    private long scheduledTime = 0;
+    // false 면 onTick 없이 마감 시각에 onFinish 만 호출
+    private boolean ticking = true;
+    // start/pause/cancel 마다 증가, 리스너 안에서 상태가 바뀌었는지 판단하는 데 사용
+    private int generation = 0;
+
+    public TimerEngine(Clock clock, Scheduler scheduler) {
+        this.clock = clock;
+        this.scheduler = scheduler;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    // 지금부터 durationMillis 동안 실행
+    public void start(long durationMillis) {
+        startAt(clock.now(), durationMillis);
+    }
+
+    // startTime 을 기준으로 마감 시각을 정해 실행
+    // 연속 세션은 이전 세션의 마감 시각을 넘겨 주면 콜백 지연이 다음 세션으로 옮겨가지 않는다
+    public void startAt(long startTime, long durationMillis) {
+        scheduler.cancel(tickTask);
+        generation++;
+        deadline = startTime + durationMillis;
+        running = true;
+        scheduleNext();
+    }
+
+    // 일시 정지: 남은 시간을 밀리초 단위로 보존
+    public void pause() {
+        if (!running) {
+            return;
+        }
+        remainingWhenStopped = Math.max(0, deadline - clock.now());
+        running = false;
+        generation++;
+        scheduler.cancel(tickTask);
+    }
+
+    // 일시 정지 시점의 남은 시간으로 다시 시작
+    public void resume() {
+        if (!running) {
+            start(remainingWhenStopped);
+        }
+    }
+
+    public void cancel() {
+        running = false;
+        generation++;
+        remainingWhenStopped = 0;
+        scheduler.cancel(tickTask);
+    }
+
+    // 초 단위 tick 켜기/끄기. 실행 중이면 다음 예약을 바로 바꾼다 (켜면 다음 초 경계부터 다시 tick)
+    public void setTicking(boolean ticking) {
+        if (this.ticking == ticking) {
+            return;
+        }
+        this.ticking = ticking;
+        if (running) {
+            scheduler.cancel(tickTask);
+            scheduleNext();
+        }
+    }
+
+    public boolean isTicking() {
+        return ticking;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 실행 중이면 마감 시각 - 현재 시각, 아니면 멈춘 시점의 남은 시간
+    public long getRemainingMillis() {
+        if (running) {
+            return Math.max(0, deadline - clock.now());
+        }
+        return remainingWhenStopped;
+    }
+
+    // 현재(또는 마지막) 세션의 마감 시각
+    public long getDeadline() {
+        return deadline;
+    }
+
+    private void onScheduled() {
+        if (!running) {
+            return;
+        }
+        long now = clock.now();
+        TICK_LATENESS.record(Math.max(0, now - scheduledTime));
+        long remaining = deadline - now;
+        if (remaining <= 0) {
+            running = false;
+            remainingWhenStopped = 0;
+            if (listener != null) {
+                listener.onFinish();
+            }
+            return;
+        }
+        int current = generation;
+        if (listener != null && ticking) {
+            listener.onTick(remaining);
+        }
+        // 리스너가 타이머를 다시 시작/정지했다면 이미 새로 예약되었거나 멈춘 상태
+        if (current == generation) {
+            scheduleNext();
+        }
+    }
+
+    // 남은 시간이 다음으로 TICK_INTERVAL 의 배수가 되는 시각(또는 마감 시각)에 예약
+    // tick 이 꺼져 있으면 마감 시각 하나만 예약
+    private void scheduleNext() {
+        long remaining = deadline - clock.now();
+        long next = remaining <= 0 || !ticking
+                ? deadline : deadline - ((remaining - 1) / TICK_INTERVAL) * TICK_INTERVAL;
+        scheduledTime = next;
+        scheduler.scheduleAt(tickTask, next);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.pomodorotimerapp.timer;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+
+import androidx.core.app.NotificationCompat;
+
+import com.example.pomodorotimerapp.MainActivity;
+import com.example.pomodorotimerapp.R;
+import com.example.pomodorotimerapp.data.DatabaseHelper;
+
+// 타이머 관련 알림 채널과 알림 생성
+public final class TimerNotifications {
+    static final String CHANNEL_RUNNING = "timer_running";
+    static final String CHANNEL_ALERTS = "timer_alerts";
+    static final int ID_RUNNING = 1;
+    static final int ID_COMPLETED = 2;
+
+    private TimerNotifications() {
+    }
+
+    static void ensureChannels(Context context) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            return;
+        }
+        NotificationManager manager = context.getSystemService(NotificationManager.class);
+        NotificationChannel running = new NotificationChannel(CHANNEL_RUNNING, "진행 중인 타이머",
+                NotificationManager.IMPORTANCE_LOW);
+        running.setShowBadge(false);
+        NotificationChannel alerts = new NotificationChannel(CHANNEL_ALERTS, "세션 종료 알림",
+                NotificationManager.IMPORTANCE_HIGH);
+        manager.createNotificationChannel(running);
+        manager.createNotificationChannel(alerts);
+    }
+
+    // 진행 중 알림: 남은 시간은 시스템 크로노미터가 그리므로 앱이 매초 깨어날 필요가 없다
+    static Notification buildRunning(Context context, TimerSession session) {
+        ensureChannels(context);
+        return new NotificationCompat.Builder(context, CHANNEL_RUNNING)
+                .setSmallIcon(R.drawable.icon_timer)
+                .setContentTitle(label(session.type))
+                .setContentIntent(openAppIntent(context))
+                .setOngoing(true)
+                .setOnlyAlertOnce(true)
+                .setShowWhen(true)
+                .setWhen(session.endTime)
+                .setUsesChronometer(true)
+                .setChronometerCountDown(true)
+                .setCategory(NotificationCompat.CATEGORY_STOPWATCH)
+                .build();
+    }
+
+    // 앱이 떠 있지 않을 때 세션 종료를 알리는 알림 (소리와 진동은 CompletionAlert 가 이미 울렸으므로 무음)
+    static void showCompleted(Context context, TimerSession session) {
+        ensureChannels(context);
+        Notification notification = new NotificationCompat.Builder(context, CHANNEL_ALERTS)
+                .setSmallIcon(R.drawable.icon_timer)
+                .setContentTitle(label(session.type) + " 종료")
+                .setContentIntent(openAppIntent(context))
+                .setAutoCancel(true)
+                .setSilent(true)
+                .setPriority(NotificationCompat.PRIORITY_HIGH)
+                .setCategory(NotificationCompat.CATEGORY_ALARM)
+                .build();
+        NotificationManager manager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        manager.notify(ID_COMPLETED, notification);
+    }
+
+    static String label(String type) {
+        if (DatabaseHelper.TYPE_FOCUS.equals(type)) {
+            return "집중 시간";
+        } else if (DatabaseHelper.TYPE_LONG_BREAK.equals(type)) {
+            return "긴 휴식 시간";
+        }
+        return "휴식 시간";
+    }
+
+    private static PendingIntent openAppIntent(Context context) {
+        Intent intent = new Intent(context, MainActivity.class)
+                .setFlags(Intent.FLAG_ACTIVITY_SINGLE_TOP | Intent.FLAG_ACTIVITY_CLEAR_TOP);
+        return PendingIntent.getActivity(context, 0, intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+}
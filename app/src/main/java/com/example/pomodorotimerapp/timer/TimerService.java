@@ -0,0 +1,45 @@
+package com.example.pomodorotimerapp.timer;
+
+import android.app.Notification;
+import android.app.Service;
+import android.content.Intent;
+import android.content.pm.ServiceInfo;
+import android.os.Build;
+import android.os.IBinder;
+
+// 세션이 진행되는 동안 프로세스를 살려 두는 포그라운드 서비스
+// 카운트다운 표시는 알림의 크로노미터가 담당하고, 서비스 자체는 주기적인 작업을 하지 않는다
+public class TimerService extends Service {
+    static final String EXTRA_TYPE = "type";
+    static final String EXTRA_START_TIME = "start_time";
+    static final String EXTRA_END_TIME = "end_time";
+    static final String EXTRA_DEADLINE = "deadline";
+
+    @Override
+    public int onStartCommand(Intent intent, int flags, int startId) {
+        if (intent == null) {
+            stopSelf();
+            return START_NOT_STICKY;
+        }
+        TimerSession session = new TimerSession(
+                intent.getStringExtra(EXTRA_TYPE),
+                intent.getLongExtra(EXTRA_START_TIME, 0),
+                intent.getLongExtra(EXTRA_END_TIME, 0),
+                intent.getLongExtra(EXTRA_DEADLINE, 0),
+                0, 0);
+        Notification notification = TimerNotifications.buildRunning(this, session);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.UPSIDE_DOWN_CAKE) {
+            startForeground(TimerNotifications.ID_RUNNING, notification,
+                    ServiceInfo.FOREGROUND_SERVICE_TYPE_SPECIAL_USE);
+        } else {
+            startForeground(TimerNotifications.ID_RUNNING, notification);
+        }
+        // 프로세스가 종료되면 알람이 완료 처리를 맡으므로 서비스를 다시 만들 필요는 없다
+        return START_NOT_STICKY;
+    }
+
+    @Override
+    public IBinder onBind(Intent intent) {
+        return null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.pomodorotimerapp.timer;
+
+// 진행 중인 세션 정보 (프로세스가 종료되어도 완료 기록을 남길 수 있도록 저장)
+public class TimerSession {
+    // DatabaseHelper.TYPE_* 값
+    public final String type;
+    // 세션 시작 시각 (벽시계)
+    public final long startTime;
+    // 예상 종료 시각 (벽시계, 통계 기록용)
+    public final long endTime;
+    // 마감 시각 (SystemClock.elapsedRealtime 기준, 알람 예약용)
+    public final long deadline;
+    public final long plannedDuration;
+    // 마감까지 진행되었을 때의 실제 진행 시간 (일시 정지 시간 제외)
+    public final long actualDuration;
+
+    public TimerSession(String type, long startTime, long endTime, long deadline,
+                        long plannedDuration, long actualDuration) {
+        this.type = type;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.deadline = deadline;
+        this.plannedDuration = plannedDuration;
+        this.actualDuration = actualDuration;
+    }
+}
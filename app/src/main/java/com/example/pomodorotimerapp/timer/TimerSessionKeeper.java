@@ -0,0 +1,179 @@
+package com.example.pomodorotimerapp.timer;
+
+import android.app.AlarmManager;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.os.Build;
+import android.util.Log;
+
+import androidx.core.content.ContextCompat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 진행 중인 세션을 저장하고 마감 시각에 정확한 알람을 예약해 둔다
+// 앱 프로세스가 살아 있으면 ViewModel 이, 종료되었으면 TimerAlarmReceiver 가 완료를 처리하며
+// claimCompletion 으로 둘 중 한 곳에서만 기록되도록 보장한다
+public class TimerSessionKeeper {
+    private static final String TAG = "TimerSessionKeeper";
+    private static final String PREFS_NAME = "timer_session";
+    private static final String KEY_TYPE = "type";
+    private static final String KEY_START_TIME = "start_time";
+    private static final String KEY_END_TIME = "end_time";
+    private static final String KEY_DEADLINE = "deadline";
+    private static final String KEY_PLANNED_DURATION = "planned_duration";
+    private static final String KEY_ACTUAL_DURATION = "actual_duration";
+
+    private static volatile TimerSessionKeeper instance;
+
+    private final Context context;
+    private final AlarmManager alarmManager;
+    private final CompletionAlert completionAlert;
+    // SharedPreferences 읽기/쓰기는 메인 스레드 밖에서 순서대로 실행
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "timer-session-io"));
+
+    // 현재 세션의 메모리 사본 (loaded 가 false 면 디스크에서 읽어야 함)
+    private TimerSession current;
+    private boolean loaded = false;
+    private boolean serviceRunning = false;
+
+    public static TimerSessionKeeper getInstance(Context context) {
+        if (instance == null) {
+            synchronized (TimerSessionKeeper.class) {
+                if (instance == null) {
+                    instance = new TimerSessionKeeper(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    TimerSessionKeeper(Context context) {
+        this.context = context;
+        this.alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        this.completionAlert = CompletionAlert.getInstance(context);
+    }
+
+    // 세션 시작/재개: 저장, 알람 예약, 포그라운드 서비스 시작(또는 알림 갱신), 종료 알림음 준비
+    public synchronized void onSessionStarted(TimerSession session) {
+        current = session;
+        loaded = true;
+        persist(session);
+        scheduleAlarm(session.deadline);
+        startOrUpdateService(session);
+        completionAlert.prepare();
+    }
+
+    // 일시 정지/리셋/사이클 종료: 저장된 세션과 알람 제거, 서비스 종료, 알림음 해제
+    public synchronized void onSessionStopped() {
+        current = null;
+        loaded = true;
+        persist(null);
+        alarmManager.cancel(alarmIntent(0));
+        stopService();
+        completionAlert.release();
+    }
+
+    // 마감 시각이 deadline 인 세션의 완료 처리 권한을 가져온다. 이미 처리되었으면 null
+    // 프로세스가 새로 시작된 경우 디스크를 읽으므로 그때는 백그라운드 스레드에서 호출해야 한다
+    public synchronized TimerSession claimCompletion(long deadline) {
+        if (!loaded) {
+            current = load();
+            loaded = true;
+        }
+        if (current == null || current.deadline != deadline) {
+            return null;
+        }
+        TimerSession claimed = current;
+        current = null;
+        persist(null);
+        return claimed;
+    }
+
+    void runInBackground(Runnable task) {
+        ioExecutor.execute(task);
+    }
+
+    synchronized void stopService() {
+        if (serviceRunning) {
+            serviceRunning = false;
+            context.stopService(new Intent(context, TimerService.class));
+        }
+    }
+
+    private void scheduleAlarm(long deadline) {
+        PendingIntent intent = alarmIntent(deadline);
+        // 정확한 알람을 쓸 수 없으면 유휴 모드에서도 동작하는 일반 알람으로 대체
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.S || alarmManager.canScheduleExactAlarms()) {
+            alarmManager.setExactAndAllowWhileIdle(AlarmManager.ELAPSED_REALTIME_WAKEUP, deadline, intent);
+        } else {
+            alarmManager.setAndAllowWhileIdle(AlarmManager.ELAPSED_REALTIME_WAKEUP, deadline, intent);
+        }
+    }
+
+    // 취소할 때는 extra 가 비교 대상이 아니므로 deadline 값과 관계없이 같은 알람을 가리킨다
+    private PendingIntent alarmIntent(long deadline) {
+        Intent intent = new Intent(context, TimerAlarmReceiver.class)
+                .putExtra(TimerAlarmReceiver.EXTRA_DEADLINE, deadline);
+        return PendingIntent.getBroadcast(context, 0, intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    private void startOrUpdateService(TimerSession session) {
+        if (serviceRunning) {
+            // 이미 포그라운드 상태면 같은 ID 로 알림만 교체
+            NotificationManager manager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+            manager.notify(TimerNotifications.ID_RUNNING, TimerNotifications.buildRunning(context, session));
+            return;
+        }
+        Intent intent = new Intent(context, TimerService.class)
+                .putExtra(TimerService.EXTRA_TYPE, session.type)
+                .putExtra(TimerService.EXTRA_START_TIME, session.startTime)
+                .putExtra(TimerService.EXTRA_END_TIME, session.endTime)
+                .putExtra(TimerService.EXTRA_DEADLINE, session.deadline);
+        try {
+            ContextCompat.startForegroundService(context, intent);
+            serviceRunning = true;
+        } catch (IllegalStateException e) {
+            // 백그라운드에서 시작이 제한된 경우에도 알람이 완료 처리를 맡는다
+            Log.w(TAG, "Foreground service start not allowed", e);
+        }
+    }
+
+    private void persist(TimerSession session) {
+        ioExecutor.execute(() -> {
+            SharedPreferences.Editor editor = prefs().edit().clear();
+            if (session != null) {
+                editor.putString(KEY_TYPE, session.type)
+                        .putLong(KEY_START_TIME, session.startTime)
+                        .putLong(KEY_END_TIME, session.endTime)
+                        .putLong(KEY_DEADLINE, session.deadline)
+                        .putLong(KEY_PLANNED_DURATION, session.plannedDuration)
+                        .putLong(KEY_ACTUAL_DURATION, session.actualDuration);
+            }
+            editor.commit();
+        });
+    }
+
+    private TimerSession load() {
+        SharedPreferences prefs = prefs();
+        String type = prefs.getString(KEY_TYPE, null);
+        if (type == null) {
+            return null;
+        }
+        return new TimerSession(type,
+                prefs.getLong(KEY_START_TIME, 0),
+                prefs.getLong(KEY_END_TIME, 0),
+                prefs.getLong(KEY_DEADLINE, 0),
+                prefs.getLong(KEY_PLANNED_DURATION, 0),
+                prefs.getLong(KEY_ACTUAL_DURATION, 0));
+    }
+
+    private SharedPreferences prefs() {
+        return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.pomodorotimerapp.ui.home;
+
+// 남은 시간을 "mm:ss" 문자로 재사용 버퍼에 기록 (String.format 과 달리 tick 마다 객체를 만들지 않음)
+public final class CountdownText {
+    // 최대 "999:59"
+    public static final int MAX_LENGTH = 6;
+
+    private CountdownText() {
+    }
+
+    // 남은 시간을 초 단위로 올림해서 out 에 쓰고 사용한 길이를 반환
+    public static int format(long millisUntilFinished, char[] out) {
+        int totalSeconds = (int) ((Math.max(0, millisUntilFinished) + 999) / 1000);
+        int minutes = Math.min(totalSeconds / 60, 999);
+        int seconds = totalSeconds % 60;
+        int length = 0;
+        if (minutes >= 100) {
+            out[length++] = (char) ('0' + minutes / 100);
+        }
+        out[length++] = (char) ('0' + minutes / 10 % 10);
+        out[length++] = (char) ('0' + minutes % 10);
+        out[length++] = ':';
+        out[length++] = (char) ('0' + seconds / 10);
+        out[length++] = (char) ('0' + seconds % 10);
+        return length;
+    }
+}
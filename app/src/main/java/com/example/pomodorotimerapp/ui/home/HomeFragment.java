@@ -20,8 +20,6 @@ import androidx.lifecycle.ViewModelProvider;
 import com.example.pomodorotimerapp.CircularTimerView;
 import com.example.pomodorotimerapp.databinding.FragmentHomeBinding;
 
-import java.util.Locale;
-
 public class HomeFragment extends Fragment {
 
     private FragmentHomeBinding binding;
@@ -37,9 +35,13 @@ public class HomeFragment extends Fragment {
     private static final int FOCUS_COLOR = Color.RED;
     private static final int BREAK_COLOR = Color.CYAN;
 
-    // 다이얼로그 표시 여부를 추적하는 플래그
-    private boolean isDialogShowing = false;
-    private long totalTimeInMillis;
+    // 마지막으로 그린 타이머 상태 (새 상태와 비교해 바뀐 부분만 다시 그림)
+    private TimerState renderedState;
+
+    // 남은 시간 텍스트 버퍼: displayedText 는 TextView 가 그대로 참조하므로 scratchText 에 먼저 만들고 비교
+    private final char[] scratchText = new char[CountdownText.MAX_LENGTH];
+    private final char[] displayedText = new char[CountdownText.MAX_LENGTH];
+    private int displayedLength = 0;
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater,
@@ -59,16 +61,14 @@ public class HomeFragment extends Fragment {
         resetButton = binding.buttonReset;
         circularTimerView = binding.circularTimerView;
 
-        // 긴 휴식 다이얼로그 표시 여부 관찰
-        homeViewModel.getShowLongBreakDialog().observe(getViewLifecycleOwner(), show -> {
-            if (show && !isDialogShowing) {
-                showLongBreakDialog();
-            }
-        });
-
         // 시작/일시정지 버튼 클릭 리스너 설정
         startPauseButton.setOnClickListener(v -> {
-            if (homeViewModel.getIsTimerRunning().getValue()) {
+            TimerState state = homeViewModel.getState().getValue();
+            if (state == null) {
+                // 저장된 설정을 읽는 중
+                return;
+            }
+            if (state.isRunning()) {
                 homeViewModel.pauseTimer();
             } else {
                 homeViewModel.startTimer();
@@ -78,79 +78,85 @@ public class HomeFragment extends Fragment {
         // 리셋 버튼 클릭 리스너 설정
         resetButton.setOnClickListener(v -> homeViewModel.resetTimer());
 
-        // ViewModel의 상태 변화 관찰 및 UI 업데이트
-        homeViewModel.getTimeLeft().observe(getViewLifecycleOwner(), this::updateCountDownText);
-        homeViewModel.getIsTimerRunning().observe(getViewLifecycleOwner(), isRunning -> {
-            startPauseButton.setText(isRunning ? "일시정지" : "시작");
-        });
-        homeViewModel.getIsFocusTime().observe(getViewLifecycleOwner(), this::updateTimerMode);
-        homeViewModel.getCurrentCycle().observe(getViewLifecycleOwner(), cycle -> {
-            cycleTextView.setText(homeViewModel.getCycleText());
-        });
-
-        // 타이머 리셋 상태 관찰
-        homeViewModel.getIsTimerReset().observe(getViewLifecycleOwner(), isReset -> {
-            if (isReset) {
-                resetCircularTimer();
-            }
-        });
+        // 새 뷰는 첫 상태를 전부 그림
+        renderedState = null;
+        // 상태는 전이마다 한 번, 남은 시간은 tick 마다 전달됨
+        // 남은 시간은 첫 상태(저장된 설정 반영 후)를 그릴 때부터 관찰 (renderState)
+        homeViewModel.getState().observe(getViewLifecycleOwner(), this::renderState);
 
         return root;
     }
 
-    // 타이머 모드 (집중/휴식) 업데이트
-    private void updateTimerMode(boolean isFocus) {
-        long totalTime = isFocus ? homeViewModel.getFocusTime() : homeViewModel.getBreakTime();
-        totalTimeInMillis = totalTime;
-        circularTimerView.setTotalTime(totalTime);
-        circularTimerView.setProgressColor(isFocus ? FOCUS_COLOR : BREAK_COLOR);
-        modeTextView.setText(isFocus ? "집중 시간" : "휴식 시간");
-        if (!homeViewModel.getIsTimerRunning().getValue()) {
-            homeViewModel.setTimeLeft(totalTime);
-            updateCountDownText(totalTime);
+    // 이전에 그린 상태와 달라진 항목만 갱신
+    private void renderState(TimerState state) {
+        int changed = state.diff(renderedState);
+        if (renderedState == null) {
+            homeViewModel.getTimeLeft().observe(getViewLifecycleOwner(), this::updateCountDownText);
+        }
+        renderedState = state;
+
+        if ((changed & TimerState.CHANGED_PHASE) != 0) {
+            // 타이머 모드 (집중/휴식) 와 원형 타이머 기준 시간
+            circularTimerView.setTotalTime(state.phaseDuration);
+            circularTimerView.setProgressColor(state.isFocus() ? FOCUS_COLOR : BREAK_COLOR);
+            modeTextView.setText(state.isFocus() ? "집중 시간" : "휴식 시간");
+        }
+        if ((changed & TimerState.CHANGED_CYCLE) != 0) {
+            cycleTextView.setText("사이클: " + state.cycle + "/" + state.cyclesBeforeLongBreak);
+        }
+        if ((changed & TimerState.CHANGED_STATUS) != 0) {
+            startPauseButton.setText(state.isRunning() ? "일시정지" : "시작");
+            // 실행 중에는 원형 타이머가 마감 시각에서 매 프레임 진행률을 계산
+            if (state.isRunning()) {
+                circularTimerView.startAnimation(state.deadline);
+            } else {
+                circularTimerView.stopAnimation();
+            }
+            if (state.status == TimerState.Status.READY) {
+                circularTimerView.reset();
+            } else if (state.status == TimerState.Status.AWAITING_LONG_BREAK) {
+                showLongBreakDialog(state.cyclesBeforeLongBreak);
+            }
         }
     }
 
     // 남은 시간 텍스트 업데이트
     private void updateCountDownText(long millisUntilFinished) {
-        int seconds = (int) (millisUntilFinished / 1000);
-        String timeLeftFormatted = String.format(Locale.getDefault(), "%02d:%02d", seconds / 60, seconds % 60);
-        timerTextView.setText(timeLeftFormatted);
+        // 남은 시간을 올림해서 표시 (tick 이 조금 늦어도 같은 초가 두 번 보이지 않음)
+        // tick 마다 String 을 만들지 않도록 재사용 버퍼에 쓰고, 글자가 바뀐 경우에만 setText
+        int length = CountdownText.format(millisUntilFinished, scratchText);
+        if (!sameText(length)) {
+            System.arraycopy(scratchText, 0, displayedText, 0, length);
+            displayedLength = length;
+            timerTextView.setText(displayedText, 0, length);
+        }
         updateCircularTimer(millisUntilFinished);
     }
 
+    private boolean sameText(int length) {
+        if (length != displayedLength) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (scratchText[i] != displayedText[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     // 원형 타이머 뷰 업데이트
     private void updateCircularTimer(long timeLeftInMillis) {
         circularTimerView.updateTime(timeLeftInMillis);
     }
 
-    // 원형 타이머 리셋
-    private void resetCircularTimer() {
-        circularTimerView.reset();
-        updateTimerMode(true);
-    }
-
-    // 긴 휴식 시간 다이얼로그 표시
-    private void showLongBreakDialog() {
-        if (isDialogShowing) {
-            return;
-        }
-        isDialogShowing = true;
+    // 긴 휴식 시간 다이얼로그 표시 (AWAITING_LONG_BREAK 로 전이할 때 한 번)
+    private void showLongBreakDialog(int cycles) {
         new AlertDialog.Builder(requireContext())
                 .setTitle("긴 휴식 시간")
-                .setMessage("4 사이클의 집중 시간을 완료했습니다. 긴 휴식을 취하시겠습니까?")
-                .setPositiveButton("예", (dialog, which) -> {
-                    homeViewModel.startLongBreak();
-                    homeViewModel.setShowLongBreakDialog(false);
-                    isDialogShowing = false;
-                    homeViewModel.startTimer();
-                })
-                .setNegativeButton("아니오", (dialog, which) -> {
-                    homeViewModel.resetCycle();
-                    homeViewModel.setShowLongBreakDialog(false);
-                    isDialogShowing = false;
-                    homeViewModel.prepareForNextTimer();
-                })
+                .setMessage(cycles + " 사이클의 집중 시간을 완료했습니다. 긴 휴식을 취하시겠습니까?")
+                .setPositiveButton("예", (dialog, which) -> homeViewModel.acceptLongBreak())
+                .setNegativeButton("아니오", (dialog, which) -> homeViewModel.declineLongBreak())
                 .setCancelable(false)
                 .show();
     }
@@ -159,5 +165,7 @@ public class HomeFragment extends Fragment {
     public void onDestroyView() {
         super.onDestroyView();
         binding = null;
+        displayedLength = 0;
+        renderedState = null;
     }
 }
\ No newline at end of file
@@ -1,269 +1,342 @@
 package com.example.pomodorotimerapp.ui.home;
 
 import android.app.Application;
-import android.os.CountDownTimer;
 import android.util.Log;
 
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 
 import com.example.pomodorotimerapp.data.DatabaseHelper;
+import com.example.pomodorotimerapp.data.SettingsRepository;
+import com.example.pomodorotimerapp.data.StatsRepository;
+import com.example.pomodorotimerapp.data.TimerSettings;
+import com.example.pomodorotimerapp.metrics.TraceSection;
+import com.example.pomodorotimerapp.timer.CompletionAlert;
+import com.example.pomodorotimerapp.timer.HandlerTimerScheduler;
+import com.example.pomodorotimerapp.timer.TimerEngine;
+import com.example.pomodorotimerapp.timer.TimerSession;
+import com.example.pomodorotimerapp.timer.TimerSessionKeeper;
+import com.example.pomodorotimerapp.ui.home.TimerState.Phase;
+import com.example.pomodorotimerapp.ui.home.TimerState.Status;
 
 public class HomeViewModel extends AndroidViewModel {
-    private static final int MAX_CYCLES = 4;
-
-    // LiveData 객체들
-    private final MutableLiveData<Long> timeLeft = new MutableLiveData<>();
-    private final MutableLiveData<Boolean> isTimerRunning = new MutableLiveData<>(false);
-    private final MutableLiveData<Boolean> isFocusTime = new MutableLiveData<>(true);
-    private final MutableLiveData<Integer> currentCycle = new MutableLiveData<>(1);
-    private final MutableLiveData<Boolean> isLongBreak = new MutableLiveData<>(false);
-    private final MutableLiveData<Boolean> showLongBreakDialog = new MutableLiveData<>(false);
+    // 남은 시간은 매초 바뀌므로 박싱 없는 LongLiveValue 로 전달
+    private final LongLiveValue timeLeft;
+    // 타이머 상태: 전이마다 불변 스냅샷 하나를 한 번만 방출
+    private final MutableLiveData<TimerState> state;
     private final MutableLiveData<String> notification = new MutableLiveData<>();
-    private final MutableLiveData<Boolean> isTimerReset = new MutableLiveData<>(false);
 
-    private DatabaseHelper dbHelper;
-    private CountDownTimer countDownTimer;
+    private final StatsRepository statsRepository;
+    private final SettingsRepository settingsRepository;
+    private final Observer<TimerSettings> settingsObserver = this::applySettings;
+    private final HandlerTimerScheduler timerClock;
+    private final TimerEngine timerEngine;
+    private final TimerSessionKeeper sessionKeeper;
+    private final CompletionAlert completionAlert;
     private static final String TAG = "HomeViewModel";
 
-    // 기본 시간 설정 (밀리초 단위)
-    private long focusTime = 25 * 60 * 1000; // 25분
-    private long breakTime = 5 * 60 * 1000; // 5분
-    private long longBreakTime = 15 * 60 * 1000; // 15분
+    // 시간 설정 (밀리초 단위, SettingsRepository 스냅샷에서 반영)
+    private long focusTime;
+    private long breakTime;
+    private long longBreakTime;
+    private int cyclesBeforeLongBreak;
+    private boolean autoStartBreak;
+    private boolean autoStartFocus;
+
+    // 마지막으로 방출한 상태
+    private TimerState current;
+
+    // 현재 진행 중인 세션 기록용 정보 (밀리초 단위)
+    private long sessionStartTime = 0;
+    private long sessionPlannedDuration = 0;
+    private long sessionElapsed = 0;
+    private long segmentStartTime = 0;
 
     public HomeViewModel(Application application) {
         super(application);
-        dbHelper = new DatabaseHelper(application);
-        timeLeft.setValue(focusTime);
+        statsRepository = StatsRepository.getInstance(application);
+        sessionKeeper = TimerSessionKeeper.getInstance(application);
+        completionAlert = CompletionAlert.getInstance(application);
+        settingsRepository = SettingsRepository.getInstance(application);
+        TimerSettings loadedSettings = settingsRepository.getSettings().getValue();
+        copySettings(loadedSettings != null ? loadedSettings : TimerSettings.DEFAULT);
+        current = ready(Phase.FOCUS, 1);
+        // 저장된 설정을 아직 읽는 중이면 첫 상태는 로드가 끝난 뒤 방출 (기본 25:00 이 보였다가 바뀌지 않도록)
+        state = loadedSettings != null ? new MutableLiveData<>(current) : new MutableLiveData<>();
+        timeLeft = new LongLiveValue(focusTime);
+
+        // 마감 시각 기반 타이머 (남은 시간은 tick 시점에 마감 시각에서 계산)
+        timerClock = new HandlerTimerScheduler();
+        timerEngine = new TimerEngine(timerClock, timerClock);
+        timerEngine.setListener(new TimerEngine.Listener() {
+            @Override
+            public void onTick(long remainingMillis) {
+                TraceSection.begin("HomeViewModel.onTick");
+                try {
+                    timeLeft.set(remainingMillis);
+                } finally {
+                    TraceSection.end();
+                }
+            }
+
+            @Override
+            public void onFinish() {
+                TraceSection.begin("HomeViewModel.onFinish");
+                try {
+                    onSessionFinished();
+                } finally {
+                    TraceSection.end();
+                }
+            }
+        });
+
+        // 남은 시간을 보는 화면이 없으면 (다른 화면, 백그라운드) 마감 시각에만 깨어나 완료를 처리하고,
+        // 화면이 다시 보이면 현재 남은 시간부터 초 단위 tick 을 재개
+        timerEngine.setTicking(false);
+        timeLeft.setActiveListener(active -> {
+            timerEngine.setTicking(active);
+            if (active && timerEngine.isRunning()) {
+                timeLeft.set(timerEngine.getRemainingMillis());
+            }
+        });
+
+        // 저장된 설정이 로드되거나 변경되면 반영
+        settingsRepository.getSettings().observeForever(settingsObserver);
+    }
+
+    private void copySettings(TimerSettings settings) {
+        focusTime = settings.focusTime;
+        breakTime = settings.breakTime;
+        longBreakTime = settings.longBreakTime;
+        cyclesBeforeLongBreak = settings.cyclesBeforeLongBreak;
+        autoStartBreak = settings.autoStartBreak;
+        autoStartFocus = settings.autoStartFocus;
+    }
+
+    // 설정 반영: 진행 중인 세션은 그대로 두고, 대기 중이면 세션 길이와 남은 시간을 바로 갱신
+    private void applySettings(TimerSettings settings) {
+        copySettings(settings);
+        int cycle = Math.min(current.cycle, cyclesBeforeLongBreak);
+        if (current.status == Status.READY) {
+            moveTo(ready(current.phase, cycle), durationOf(current.phase));
+        } else {
+            moveTo(new TimerState(current.phase, current.status, cycle, cyclesBeforeLongBreak,
+                    current.phaseDuration, current.deadline), timeLeft.get());
+        }
     }
+
     public void incrementFocusCount() {
-        dbHelper.addOrUpdateStats("focus");
+        recordSession(DatabaseHelper.TYPE_FOCUS);
         Log.d(TAG, "Focus count incremented");
     }
 
     public void incrementBreakCount() {
-        dbHelper.addOrUpdateStats("break");
+        recordSession(DatabaseHelper.TYPE_BREAK);
         Log.d(TAG, "Break count incremented");
     }
 
     public void incrementLongBreakCount() {
-        dbHelper.addOrUpdateStats("longBreak");
+        recordSession(DatabaseHelper.TYPE_LONG_BREAK);
         Log.d(TAG, "Long break count incremented");
     }
-    // Getter 및 Setter 메서드들
-    public LiveData<Boolean> getIsTimerReset() {
-        return isTimerReset;
-    }
-
-    private void setIsTimerReset(boolean reset) {
-        isTimerReset.setValue(reset);
-    }
 
-    public LiveData<Long> getTimeLeft() {
-        return timeLeft;
-    }
-
-    public void setTimeLeft(long time) {
-        timeLeft.setValue(time);
+    // 끝난 세션을 세션 로그에 기록하고 다음 세션을 위해 기록 정보 초기화
+    private void recordSession(String type) {
+        long now = System.currentTimeMillis();
+        long actualDuration = sessionElapsed + (now - segmentStartTime);
+        statsRepository.addSession(type, sessionStartTime, now, sessionPlannedDuration, actualDuration);
+        sessionStartTime = 0;
     }
 
-    public LiveData<Boolean> getIsTimerRunning() {
-        return isTimerRunning;
+    public LiveData<TimerState> getState() {
+        return state;
     }
 
-    public void setIsTimerRunning(boolean running) {
-        isTimerRunning.setValue(running);
+    public LongLiveValue getTimeLeft() {
+        return timeLeft;
     }
 
-    public LiveData<Boolean> getIsFocusTime() {
-        return isFocusTime;
+    public LiveData<String> getNotification() {
+        return notification;
     }
 
-    public void setIsFocusTime(boolean focus) {
-        isFocusTime.setValue(focus);
+    private void triggerNotification(String message) {
+        notification.setValue(message);
     }
 
-    public LiveData<Integer> getCurrentCycle() {
-        return currentCycle;
+    // 통계 초기화
+    public void resetStatistics() {
+        statsRepository.resetStats(null);
     }
 
-    public String getCycleText() {
-        Integer cycle = currentCycle.getValue();
-        if (cycle == null) {
-            cycle = 0;
+    // 상태 전이: 상태가 바뀌었을 때만 방출하고, 이어서 남은 시간이 바뀌었을 때만 전달
+    // (남은 시간을 받은 화면이 새 세션 길이 기준으로 진행률을 계산하도록 상태를 먼저 보냄)
+    private void moveTo(TimerState next, long remaining) {
+        if (!next.equals(current) || state.getValue() == null) {
+            current = next;
+            state.setValue(next);
         }
-        return "사이클: " + cycle + "/" + MAX_CYCLES;
-    }
-
-    // 사이클 증가
-    public void incrementCycle() {
-        Integer currentCycleValue = currentCycle.getValue();
-        if (currentCycleValue != null && currentCycleValue < MAX_CYCLES) {
-            currentCycle.setValue(currentCycleValue + 1);
+        if (remaining != timeLeft.get()) {
+            timeLeft.set(remaining);
         }
     }
 
-    // 마지막 사이클인지 확인
-    public boolean isLastCycle() {
-        Integer currentCycleValue = currentCycle.getValue();
-        return currentCycleValue != null && currentCycleValue >= MAX_CYCLES;
-    }
-
-    public void setShowLongBreakDialog(boolean show) {
-        showLongBreakDialog.setValue(show);
-    }
-
-    public LiveData<Boolean> getShowLongBreakDialog() {
-        return showLongBreakDialog;
-    }
-
-    // 긴 휴식 시작
-    public void startLongBreak() {
-        isLongBreak.setValue(true);
-        setTimeLeft(longBreakTime);
-        setIsFocusTime(false);
-    }
-
-    // 긴 휴식 종료
-    public void finishLongBreak() {
-        isLongBreak.setValue(false);
-        resetCycle();
-        setIsFocusTime(true);
-        setTimeLeft(focusTime);
-    }
-
-    public boolean isLongBreak() {
-        return isLongBreak.getValue();
-    }
-
-    public LiveData<Boolean> getIsLongBreak() {
-        return isLongBreak;
-    }
-
-    // 시간 설정 관련 Getter 및 Setter
-    public long getFocusTime() {
-        return focusTime;
-    }
-
-    public long getBreakTime() {
-        return isLongBreak.getValue() ? longBreakTime : breakTime;
+    private TimerState ready(Phase phase, int cycle) {
+        return new TimerState(phase, Status.READY, cycle, cyclesBeforeLongBreak, durationOf(phase), 0);
     }
 
-    public long getLongBreakTime() {
-        return longBreakTime;
-    }
-
-    public void setFocusTime(long focusTime) {
-        this.focusTime = focusTime;
+    private long durationOf(Phase phase) {
+        switch (phase) {
+            case BREAK:
+                return breakTime;
+            case LONG_BREAK:
+                return longBreakTime;
+            default:
+                return focusTime;
+        }
     }
 
-    public void setBreakTime(long breakTime) {
-        this.breakTime = breakTime;
+    private static String sessionType(Phase phase) {
+        switch (phase) {
+            case BREAK:
+                return DatabaseHelper.TYPE_BREAK;
+            case LONG_BREAK:
+                return DatabaseHelper.TYPE_LONG_BREAK;
+            default:
+                return DatabaseHelper.TYPE_FOCUS;
+        }
     }
 
-    public void setLongBreakTime(long longBreakTime) {
-        this.longBreakTime = longBreakTime;
+    // READY/PAUSED -> RUNNING
+    public void startTimer() {
+        TraceSection.begin("HomeViewModel.startTimer");
+        try {
+            if (current.status == Status.READY || current.status == Status.PAUSED) {
+                runPhase(current.phase, current.cycle, timerClock.now(), timeLeft.get(), current.phaseDuration);
+            }
+        } finally {
+            TraceSection.end();
+        }
     }
 
-    // 통계 초기화
-    public void resetStatistics() {
-        dbHelper.resetStats();
+    // RUNNING -> PAUSED
+    public void pauseTimer() {
+        if (timerEngine.isRunning()) {
+            timerEngine.pause();
+            sessionKeeper.onSessionStopped();
+            sessionElapsed += System.currentTimeMillis() - segmentStartTime;
+            // 다시 시작할 때 밀리초 단위로 이어지도록 정확한 남은 시간 보관
+            moveTo(new TimerState(current.phase, Status.PAUSED, current.cycle, cyclesBeforeLongBreak,
+                    current.phaseDuration, 0), timerEngine.getRemainingMillis());
+        }
     }
 
-    // 사이클 초기화
-    public void resetCycle() {
-        currentCycle.setValue(1);
-        isLongBreak.setValue(false);
-        setIsFocusTime(true);
-        setTimeLeft(focusTime);
-        setIsTimerReset(true);
+    // 모든 상태 -> 첫 사이클 집중 READY
+    public void resetTimer() {
+        timerEngine.cancel();
+        sessionKeeper.onSessionStopped();
+        sessionStartTime = 0;
+        moveTo(ready(Phase.FOCUS, 1), focusTime);
     }
 
-    // 다음 타이머 준비
-    public void prepareForNextTimer() {
-        setIsFocusTime(true);
-        setTimeLeft(getFocusTime());
-        setIsTimerRunning(false);
-        setIsTimerReset(true);
+    // AWAITING_LONG_BREAK -> 긴 휴식 RUNNING
+    public void acceptLongBreak() {
+        if (current.status == Status.AWAITING_LONG_BREAK) {
+            runPhase(Phase.LONG_BREAK, current.cycle, timerClock.now(), longBreakTime, longBreakTime);
+        }
     }
 
-    public LiveData<String> getNotification() {
-        return notification;
+    // AWAITING_LONG_BREAK -> 첫 사이클 집중 READY
+    public void declineLongBreak() {
+        if (current.status == Status.AWAITING_LONG_BREAK) {
+            moveTo(ready(Phase.FOCUS, 1), focusTime);
+        }
     }
 
-    private void triggerNotification(String message) {
-        notification.setValue(message);
+    // startTime 기준으로 remaining 만큼 phase 세션을 실행 (RUNNING 으로 전이)
+    // 연속 세션은 이전 마감 시각을 넘겨 받아 여러 사이클이 지나도 오차가 쌓이지 않는다
+    private void runPhase(Phase phase, int cycle, long startTime, long remaining, long phaseDuration) {
+        long now = System.currentTimeMillis();
+        if (sessionStartTime == 0) {
+            sessionStartTime = now;
+            sessionPlannedDuration = remaining;
+            sessionElapsed = 0;
+        }
+        segmentStartTime = now;
+        timerEngine.startAt(startTime, remaining);
+
+        // 앱이 백그라운드에서 종료되어도 마감 시각에 완료가 기록되도록 세션 저장 및 알람 예약
+        long left = timerEngine.getRemainingMillis();
+        sessionKeeper.onSessionStarted(new TimerSession(sessionType(phase), sessionStartTime,
+                now + left, timerEngine.getDeadline(), sessionPlannedDuration, sessionElapsed + left));
+
+        moveTo(new TimerState(phase, Status.RUNNING, cycle, cyclesBeforeLongBreak, phaseDuration,
+                timerEngine.getDeadline()), left);
+    }
+
+    // 다음 세션으로 전이: 자동 시작이면 이전 마감 시각부터 바로 실행, 아니면 READY
+    private void advanceTo(Phase phase, int cycle, boolean autoStart, long previousDeadline) {
+        long duration = durationOf(phase);
+        if (autoStart) {
+            runPhase(phase, cycle, previousDeadline, duration, duration);
+        } else {
+            sessionKeeper.onSessionStopped();
+            moveTo(ready(phase, cycle), duration);
+        }
     }
 
-    // 타이머 시작
-    public void startTimer() {
-        if (countDownTimer != null) {
-            countDownTimer.cancel();
+    // 마감 시각 도달 시 세션 기록 후 다음 상태로 전이
+    private void onSessionFinished() {
+        long deadline = timerEngine.getDeadline();
+        // 알람 리시버가 먼저 기록했다면 여기서는 기록하지 않음
+        boolean claimed = sessionKeeper.claimCompletion(deadline) != null;
+        if (claimed) {
+            // 세션 시작 때 준비해 둔 알림음과 진동 (알람 리시버가 먼저 처리했다면 리시버가 울림)
+            completionAlert.fire(deadline);
+        } else {
+            sessionStartTime = 0;
         }
-
-        setIsTimerReset(false);
-
-        long timeLeftInMillis = timeLeft.getValue();
-        countDownTimer = new CountDownTimer(timeLeftInMillis, 1000) {
-            @Override
-            public void onTick(long millisUntilFinished) {
-                setTimeLeft(millisUntilFinished);
-            }
-
-            @Override
-            public void onFinish() {
-                setTimeLeft(0);
-                setIsTimerRunning(false);
-                if (isLongBreak.getValue()) {
-                    triggerNotification("긴 휴식 시간 종료");
+        TimerState finished = current;
+        switch (finished.phase) {
+            case LONG_BREAK:
+                triggerNotification("긴 휴식 시간 종료");
+                if (claimed) {
                     incrementLongBreakCount();
-                    Log.d(TAG, "Long break session finished");
-                    finishLongBreak();
-                    prepareForNextTimer();
-                } else if (isFocusTime.getValue()) {
-                    triggerNotification("집중 시간 종료");
+                }
+                Log.d(TAG, "Long break session finished");
+                advanceTo(Phase.FOCUS, 1, false, deadline);
+                break;
+            case FOCUS:
+                triggerNotification("집중 시간 종료");
+                if (claimed) {
                     incrementFocusCount();
-                    Log.d(TAG, "Focus session finished");
-                    if (isLastCycle()) {
-                        setShowLongBreakDialog(true);
-                    } else {
-                        setIsFocusTime(false);
-                        setTimeLeft(getBreakTime());
-                        startTimer();
-                    }
+                }
+                Log.d(TAG, "Focus session finished");
+                if (finished.cycle >= cyclesBeforeLongBreak) {
+                    sessionKeeper.onSessionStopped();
+                    moveTo(new TimerState(Phase.FOCUS, Status.AWAITING_LONG_BREAK, finished.cycle,
+                            cyclesBeforeLongBreak, finished.phaseDuration, 0), 0);
                 } else {
-                    triggerNotification("휴식 시간 종료");
+                    advanceTo(Phase.BREAK, finished.cycle, autoStartBreak, deadline);
+                }
+                break;
+            default:
+                triggerNotification("휴식 시간 종료");
+                if (claimed) {
                     incrementBreakCount();
-                    Log.d(TAG, "Break session finished");
-                    incrementCycle();
-                    setIsFocusTime(true);
-                    setTimeLeft(getFocusTime());
-                    startTimer();
                 }
-            }
-        }.start();
-
-        setIsTimerRunning(true);
-    }
-
-    // 타이머 일시 정지
-    public void pauseTimer() {
-        if (countDownTimer != null) {
-            countDownTimer.cancel();
+                Log.d(TAG, "Break session finished");
+                advanceTo(Phase.FOCUS, Math.min(finished.cycle + 1, cyclesBeforeLongBreak), autoStartFocus, deadline);
+                break;
         }
-        setIsTimerRunning(false);
     }
 
-    // 타이머 리셋
-    public void resetTimer() {
-        if (countDownTimer != null) {
-            countDownTimer.cancel();
-        }
-        setIsTimerRunning(false);
-        setIsFocusTime(true);
-        setTimeLeft(getFocusTime());
-        resetCycle();
-        setIsTimerReset(true);
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        timerEngine.cancel();
+        settingsRepository.getSettings().removeObserver(settingsObserver);
     }
-}
\ No newline at end of file
+}
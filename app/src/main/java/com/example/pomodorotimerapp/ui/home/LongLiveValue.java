@@ -0,0 +1,90 @@
+package com.example.pomodorotimerapp.ui.home;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.pomodorotimerapp.metrics.Histogram;
+import com.example.pomodorotimerapp.metrics.Metrics;
+
+import java.util.ArrayList;
+
+// LiveData<Long> 대신 쓰는 박싱 없는 long 값 홀더 (메인 스레드 전용)
+// LiveData 처럼 STARTED 이상인 관찰자에게만 전달하고, 활성화될 때 현재 값을 한 번 전달한다
+// 활성 관찰자가 생기거나 모두 사라지면 ActiveListener 에 알려 값을 만드는 쪽이 갱신을 멈출 수 있다 (LiveData.onActive/onInactive)
+public class LongLiveValue {
+    public interface Observer {
+        void onChanged(long value);
+    }
+
+    public interface ActiveListener {
+        // 첫 활성 관찰자가 값을 받기 전에 true, 마지막 관찰자가 빠진 뒤 false
+        void onActiveChanged(boolean active);
+    }
+
+    // set 한 번에 값을 전달한 관찰자 수
+    private static final Histogram FAN_OUT =
+            Metrics.histogram("observers.long_value_fan_out", Metrics.UNIT_COUNT, Metrics.FAN_OUT_BOUNDS);
+
+    private final ArrayList<Observer> activeObservers = new ArrayList<>();
+    private long value;
+    private ActiveListener activeListener;
+
+    public LongLiveValue(long initialValue) {
+        this.value = initialValue;
+    }
+
+    public void setActiveListener(ActiveListener listener) {
+        this.activeListener = listener;
+    }
+
+    public boolean hasActiveObservers() {
+        return !activeObservers.isEmpty();
+    }
+
+    public long get() {
+        return value;
+    }
+
+    public void set(long value) {
+        this.value = value;
+        FAN_OUT.record(activeObservers.size());
+        // 인덱스 순회로 Iterator 할당을 피함
+        for (int i = 0; i < activeObservers.size(); i++) {
+            activeObservers.get(i).onChanged(value);
+        }
+    }
+
+    public void observe(LifecycleOwner owner, Observer observer) {
+        owner.getLifecycle().addObserver(new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_START) {
+                    observeForever(observer);
+                } else if (event == Lifecycle.Event.ON_STOP) {
+                    removeObserver(observer);
+                } else if (event == Lifecycle.Event.ON_DESTROY) {
+                    source.getLifecycle().removeObserver(this);
+                }
+            }
+        });
+    }
+
+    public void observeForever(Observer observer) {
+        if (!activeObservers.contains(observer)) {
+            // 리스너가 여기서 값을 최신으로 맞추면 새 관찰자는 그 값을 한 번만 받는다
+            if (activeObservers.isEmpty() && activeListener != null) {
+                activeListener.onActiveChanged(true);
+            }
+            activeObservers.add(observer);
+            observer.onChanged(value);
+        }
+    }
+
+    public void removeObserver(Observer observer) {
+        if (activeObservers.remove(observer) && activeObservers.isEmpty() && activeListener != null) {
+            activeListener.onActiveChanged(false);
+        }
+    }
+}
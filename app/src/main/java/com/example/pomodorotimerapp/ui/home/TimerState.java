@@ -0,0 +1,98 @@
+package com.example.pomodorotimerapp.ui.home;
+
+// 홈 화면 타이머의 불변 상태 스냅샷
+// HomeViewModel 이 전이마다 하나만 만들어 방출하고, 화면은 이전 스냅샷과 비교(diff)해 바뀐 부분만 다시 그린다
+// 매초 바뀌는 남은 시간은 포함하지 않는다 (LongLiveValue 로 따로 전달)
+public final class TimerState {
+    // 세션 종류
+    public enum Phase {
+        FOCUS,
+        BREAK,
+        LONG_BREAK
+    }
+
+    // 상태 기계의 상태
+    public enum Status {
+        // 세션 시작 전 (남은 시간 = 세션 길이)
+        READY,
+        RUNNING,
+        PAUSED,
+        // 마지막 사이클의 집중이 끝나고 긴 휴식 여부를 기다림
+        AWAITING_LONG_BREAK
+    }
+
+    // diff 결과 비트
+    public static final int CHANGED_PHASE = 1;
+    public static final int CHANGED_STATUS = 1 << 1;
+    public static final int CHANGED_CYCLE = 1 << 2;
+    public static final int CHANGED_ALL = CHANGED_PHASE | CHANGED_STATUS | CHANGED_CYCLE;
+
+    public final Phase phase;
+    public final Status status;
+    // 현재 사이클 (1 부터)
+    public final int cycle;
+    public final int cyclesBeforeLongBreak;
+    // 현재 세션 전체 길이 (원형 타이머 기준, 밀리초)
+    public final long phaseDuration;
+    // 실행 중인 세션의 마감 시각 (SystemClock.elapsedRealtime 기준), 실행 중이 아니면 0
+    public final long deadline;
+
+    public TimerState(Phase phase, Status status, int cycle, int cyclesBeforeLongBreak, long phaseDuration,
+                      long deadline) {
+        this.phase = phase;
+        this.status = status;
+        this.cycle = cycle;
+        this.cyclesBeforeLongBreak = cyclesBeforeLongBreak;
+        this.phaseDuration = phaseDuration;
+        this.deadline = deadline;
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    public boolean isFocus() {
+        return phase == Phase.FOCUS;
+    }
+
+    // previous 에서 바뀐 항목의 CHANGED_* 비트 (previous 가 null 이면 전부)
+    // 상태 비트는 마감 시각이 바뀐 경우(자동으로 다음 세션 시작)도 포함
+    public int diff(TimerState previous) {
+        if (previous == null) {
+            return CHANGED_ALL;
+        }
+        int changed = 0;
+        if (phase != previous.phase || phaseDuration != previous.phaseDuration) {
+            changed |= CHANGED_PHASE;
+        }
+        if (status != previous.status || deadline != previous.deadline) {
+            changed |= CHANGED_STATUS;
+        }
+        if (cycle != previous.cycle || cyclesBeforeLongBreak != previous.cyclesBeforeLongBreak) {
+            changed |= CHANGED_CYCLE;
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TimerState)) {
+            return false;
+        }
+        return diff((TimerState) o) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = phase.hashCode();
+        result = 31 * result + status.hashCode();
+        result = 31 * result + cycle;
+        result = 31 * result + cyclesBeforeLongBreak;
+        result = 31 * result + Long.hashCode(phaseDuration);
+        result = 31 * result + Long.hashCode(deadline);
+        return result;
+    }
+}
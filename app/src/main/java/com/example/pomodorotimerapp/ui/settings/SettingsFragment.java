@@ -9,15 +9,15 @@ import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.fragment.app.Fragment;
-import androidx.lifecycle.ViewModelProvider;
 
+import com.example.pomodorotimerapp.data.SettingsRepository;
+import com.example.pomodorotimerapp.data.TimerSettings;
 import com.example.pomodorotimerapp.databinding.FragmentSettingBinding;
-import com.example.pomodorotimerapp.ui.home.HomeViewModel;
 
 public class SettingsFragment extends Fragment {
 
     private FragmentSettingBinding binding;
-    private HomeViewModel homeViewModel;
+    private SettingsRepository settingsRepository;
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
@@ -25,11 +25,11 @@ public class SettingsFragment extends Fragment {
         binding = FragmentSettingBinding.inflate(inflater, container, false);
         View root = binding.getRoot();
 
-        // HomeViewModel 인스턴스 가져오기
-        homeViewModel = new ViewModelProvider(requireActivity()).get(HomeViewModel.class);
+        settingsRepository = SettingsRepository.getInstance(requireContext());
 
-        // 현재 설정된 시간 표시
-        displayCurrentSettings();
+        // 현재 설정 표시 (저장된 설정이 아직 로드 중이면 로드된 뒤에 표시)
+        displayCurrentSettings(settingsRepository.getCurrent());
+        settingsRepository.getSettings().observe(getViewLifecycleOwner(), this::displayCurrentSettings);
 
         // 설정 저장 버튼 클릭 리스너 설정
         binding.buttonSaveSettings.setOnClickListener(v -> saveSettings());
@@ -37,11 +37,11 @@ public class SettingsFragment extends Fragment {
         return root;
     }
 
-    // 현재 설정된 시간을 UI에 표시
-    private void displayCurrentSettings() {
-        long focusTime = homeViewModel.getFocusTime() / 1000;
-        long breakTime = homeViewModel.getBreakTime() / 1000;
-        long longBreakTime = homeViewModel.getLongBreakTime() / 1000;
+    // 현재 설정을 UI에 표시
+    private void displayCurrentSettings(TimerSettings settings) {
+        long focusTime = settings.focusTime / 1000;
+        long breakTime = settings.breakTime / 1000;
+        long longBreakTime = settings.longBreakTime / 1000;
 
         binding.editFocusTimeMinutes.setText(String.valueOf(focusTime / 60));
         binding.editFocusTimeSeconds.setText(String.valueOf(focusTime % 60));
@@ -49,6 +49,9 @@ public class SettingsFragment extends Fragment {
         binding.editBreakTimeSeconds.setText(String.valueOf(breakTime % 60));
         binding.editLongBreakTimeMinutes.setText(String.valueOf(longBreakTime / 60));
         binding.editLongBreakTimeSeconds.setText(String.valueOf(longBreakTime % 60));
+        binding.editCycleCount.setText(String.valueOf(settings.cyclesBeforeLongBreak));
+        binding.checkAutoStartBreak.setChecked(settings.autoStartBreak);
+        binding.checkAutoStartFocus.setChecked(settings.autoStartFocus);
     }
 
     // 설정 저장
@@ -58,11 +61,16 @@ public class SettingsFragment extends Fragment {
             long focusTime = getTimeInMillis(binding.editFocusTimeMinutes, binding.editFocusTimeSeconds);
             long breakTime = getTimeInMillis(binding.editBreakTimeMinutes, binding.editBreakTimeSeconds);
             long longBreakTime = getTimeInMillis(binding.editLongBreakTimeMinutes, binding.editLongBreakTimeSeconds);
+            int cycles = parseEditTextToInt(binding.editCycleCount);
 
-            // HomeViewModel에 설정 저장
-            homeViewModel.setFocusTime(focusTime);
-            homeViewModel.setBreakTime(breakTime);
-            homeViewModel.setLongBreakTime(longBreakTime);
+            if (focusTime <= 0 || breakTime <= 0 || longBreakTime <= 0 || cycles <= 0) {
+                Toast.makeText(getContext(), "0보다 큰 값을 입력해주세요.", Toast.LENGTH_SHORT).show();
+                return;
+            }
+
+            // 설정 저장소에 저장 (HomeViewModel 에는 저장소가 변경을 전달)
+            settingsRepository.update(new TimerSettings(focusTime, breakTime, longBreakTime, cycles,
+                    binding.checkAutoStartBreak.isChecked(), binding.checkAutoStartFocus.isChecked()));
 
             Toast.makeText(getContext(), "설정이 저장되었습니다.", Toast.LENGTH_SHORT).show();
         } catch (NumberFormatException e) {
@@ -88,4 +96,4 @@ public class SettingsFragment extends Fragment {
         super.onDestroyView();
         binding = null;
     }
-}
\ No newline at end of file
+}
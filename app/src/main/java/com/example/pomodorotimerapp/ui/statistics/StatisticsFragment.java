@@ -1,44 +1,101 @@
 package com.example.pomodorotimerapp.ui.statistics;
 
-import android.graphics.Color;
+import android.net.Uri;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.Toast;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
+import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
-import com.example.pomodorotimerapp.data.DatabaseHelper;
+import com.example.pomodorotimerapp.R;
+import com.example.pomodorotimerapp.StatsChartView;
+import com.example.pomodorotimerapp.data.EpochDays;
+import com.example.pomodorotimerapp.data.StatsBackup;
+import com.example.pomodorotimerapp.data.StatsRepository;
+import com.example.pomodorotimerapp.data.StatsSeries;
 import com.example.pomodorotimerapp.databinding.FragmentStatisticsBinding;
-import com.github.mikephil.charting.charts.BarChart;
-import com.github.mikephil.charting.components.XAxis;
-import com.github.mikephil.charting.data.BarData;
-import com.github.mikephil.charting.data.BarDataSet;
-import com.github.mikephil.charting.data.BarEntry;
-import com.github.mikephil.charting.formatter.IndexAxisValueFormatter;
-import com.github.mikephil.charting.interfaces.datasets.IBarDataSet;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.example.pomodorotimerapp.metrics.Histogram;
+import com.example.pomodorotimerapp.metrics.Metrics;
+import com.example.pomodorotimerapp.metrics.TraceSection;
+import com.google.android.material.snackbar.Snackbar;
 
 public class StatisticsFragment extends Fragment {
+    // 초기화 범위 선택지 (마지막 항목은 전체)
+    private static final String[] RESET_CHOICES = {"최근 7일", "최근 30일", "최근 1년", "전체 기록"};
+    private static final StatsRange[] RESET_RANGES = {StatsRange.WEEK, StatsRange.MONTH, StatsRange.YEAR};
+    // 안내가 늦게 떠도 실행 취소 기간 안에 사라지도록 여유를 둠
+    private static final int UNDO_SNACKBAR_MS = (int) StatsRepository.UNDO_WINDOW_MS - 2000;
+    // 조회 결과를 텍스트와 차트 데이터로 바꾸는 데 걸린 시간 (그리기는 StatsChartView 가 따로 잰다)
+    private static final Histogram CHART_BUILD =
+            Metrics.histogram("chart.build", Metrics.UNIT_MICROS, Metrics.MICROS_BOUNDS);
+
     private FragmentStatisticsBinding binding;
     private StatisticsViewModel statisticsViewModel;
-    private BarChart barChart;
+    private StatsChartView statsChart;
+    // 새로 만든 뷰는 첫 결과를 전체로 받아야 함
+    private boolean chartPopulated;
+
+    // 저장소 접근 프레임워크(SAF)로 내보낼 문서 생성 / 가져올 문서 선택
+    private final ActivityResultLauncher<String> exportCsvLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(StatsBackup.Format.CSV.mimeType),
+            uri -> exportTo(uri, StatsBackup.Format.CSV));
+    private final ActivityResultLauncher<String> exportJsonLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(StatsBackup.Format.JSON.mimeType),
+            uri -> exportTo(uri, StatsBackup.Format.JSON));
+    private final ActivityResultLauncher<String[]> importLauncher = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(),
+            uri -> {
+                if (uri != null) {
+                    statisticsViewModel.importStats(uri);
+                }
+            });
 
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         binding = FragmentStatisticsBinding.inflate(inflater, container, false);
         View root = binding.getRoot();
 
-        statisticsViewModel = new ViewModelProvider(this).get(StatisticsViewModel.class);
-        barChart = binding.barChart;
+        // 액티비티 범위: 서랍 메뉴로 다시 들어와도 마지막 결과와 버전을 그대로 써서 다시 조회하지 않음
+        statisticsViewModel = new ViewModelProvider(requireActivity()).get(StatisticsViewModel.class);
+        statsChart = binding.statsChart;
+        chartPopulated = false;
 
-        setupBarChart();
+        statisticsViewModel.getStats().observe(getViewLifecycleOwner(), this::updateWeeklyStats);
 
-        statisticsViewModel.getWeeklyStats().observe(getViewLifecycleOwner(), this::updateWeeklyStats);
+        // 조회 범위 선택
+        binding.radioGroupRange.check(rangeButtonId(statisticsViewModel.getRange()));
+        binding.radioGroupRange.setOnCheckedChangeListener((group, checkedId) ->
+                statisticsViewModel.setRange(rangeForButton(checkedId)));
 
         binding.buttonResetStats.setOnClickListener(v -> resetStatistics());
+        binding.buttonExportCsv.setOnClickListener(v ->
+                exportCsvLauncher.launch(exportFileName(StatsBackup.Format.CSV)));
+        binding.buttonExportJson.setOnClickListener(v ->
+                exportJsonLauncher.launch(exportFileName(StatsBackup.Format.JSON)));
+        binding.buttonImportStats.setOnClickListener(v -> importLauncher.launch(new String[]{
+                StatsBackup.Format.CSV.mimeType, StatsBackup.Format.JSON.mimeType,
+                "text/comma-separated-values", "text/plain"}));
+
+        statisticsViewModel.getTransferMessage().observe(getViewLifecycleOwner(), message -> {
+            if (message != null) {
+                Toast.makeText(getContext(), message, Toast.LENGTH_SHORT).show();
+                statisticsViewModel.onTransferMessageShown();
+            }
+        });
+
+        statisticsViewModel.getUndoableReset().observe(getViewLifecycleOwner(), resetId -> {
+            if (resetId != null) {
+                Snackbar.make(root, "통계를 초기화했습니다.", UNDO_SNACKBAR_MS)
+                        .setAction("실행 취소", v -> statisticsViewModel.undoReset(resetId))
+                        .show();
+                statisticsViewModel.onUndoableResetShown();
+            }
+        });
 
         return root;
     }
@@ -46,87 +103,95 @@ public class StatisticsFragment extends Fragment {
     @Override
     public void onResume() {
         super.onResume();
-        statisticsViewModel.loadWeeklyStats();
+        statisticsViewModel.loadStats();
     }
 
-    private void setupBarChart() {
-        barChart.getDescription().setEnabled(false);
-        barChart.setDrawValueAboveBar(true);
-        barChart.setDrawGridBackground(false);
-        barChart.setDrawBarShadow(false);
-        barChart.setFitBars(true);
-
-        XAxis xAxis = barChart.getXAxis();
-        xAxis.setPosition(XAxis.XAxisPosition.BOTTOM);
-        xAxis.setGranularity(1f);
-        xAxis.setDrawGridLines(false);
-
-        barChart.getAxisLeft().setDrawGridLines(true);
-        barChart.getAxisRight().setEnabled(false);
-        barChart.getLegend().setEnabled(true);
+    private int rangeButtonId(StatsRange range) {
+        switch (range) {
+            case MONTH:
+                return R.id.radio_range_month;
+            case YEAR:
+                return R.id.radio_range_year;
+            default:
+                return R.id.radio_range_week;
+        }
     }
 
-    private void updateWeeklyStats(List<DatabaseHelper.DailyStats> weeklyStats) {
-        updateTextStats(weeklyStats);
-        updateBarChart(weeklyStats);
+    private StatsRange rangeForButton(int checkedId) {
+        if (checkedId == R.id.radio_range_month) {
+            return StatsRange.MONTH;
+        } else if (checkedId == R.id.radio_range_year) {
+            return StatsRange.YEAR;
+        }
+        return StatsRange.WEEK;
     }
 
-    private void updateTextStats(List<DatabaseHelper.DailyStats> weeklyStats) {
-        StringBuilder statsText = new StringBuilder();
-        int totalFocus = 0, totalBreak = 0, totalLongBreak = 0;
-
-        for (DatabaseHelper.DailyStats dailyStats : weeklyStats) {
-            statsText.append(String.format("%s: 집중 %d회, 휴식 %d회, 긴 휴식 %d회\n",
-                    dailyStats.date, dailyStats.focusCount,
-                    dailyStats.breakCount, dailyStats.longBreakCount));
+    private void updateWeeklyStats(StatsUpdate update) {
+        TraceSection.begin("StatisticsFragment.updateWeeklyStats");
+        try {
+            long start = System.nanoTime();
+            StatsSeries series = update.stats;
+            updateTextStats(series);
+            if (chartPopulated && update.changedIndex != StatsUpdate.ALL) {
+                // 세션 하나가 추가된 경우 해당 막대만 갱신
+                int index = update.changedIndex;
+                statsChart.setGroup(index, series.focus[index], series.breaks[index], series.longBreaks[index]);
+            } else {
+                // 차트는 계열별 int 배열을 그대로 받아 그림
+                statsChart.setData(series.epochDays, series.focus, series.breaks, series.longBreaks, series.size(),
+                        update.granularity);
+                chartPopulated = true;
+            }
+            CHART_BUILD.recordSince(start);
+        } finally {
+            TraceSection.end();
+        }
+    }
 
-            totalFocus += dailyStats.focusCount;
-            totalBreak += dailyStats.breakCount;
-            totalLongBreak += dailyStats.longBreakCount;
+    // 숫자는 박싱 없이 StringBuilder 에 바로 이어 붙임
+    private void updateTextStats(StatsSeries series) {
+        TraceSection.begin("StatisticsFragment.updateTextStats");
+        try {
+            StringBuilder statsText = new StringBuilder(series.size() * 40);
+            for (int i = 0; i < series.size(); i++) {
+                statsText.append(EpochDays.format(series.epochDays[i]))
+                        .append(": 집중 ").append(series.focus[i])
+                        .append("회, 휴식 ").append(series.breaks[i])
+                        .append("회, 긴 휴식 ").append(series.longBreaks[i]).append("회\n");
+            }
+
+            binding.textWeeklyStats.setText(statsText);
+            binding.textTotalStats.setText(new StringBuilder("총계: 집중 ").append(series.totalFocus())
+                    .append("회, 휴식 ").append(series.totalBreaks())
+                    .append("회, 긴 휴식 ").append(series.totalLongBreaks()).append('회'));
+        } finally {
+            TraceSection.end();
         }
+    }
 
-        binding.textWeeklyStats.setText(statsText.toString());
-        binding.textTotalStats.setText(String.format("총계: 집중 %d회, 휴식 %d회, 긴 휴식 %d회",
-                totalFocus, totalBreak, totalLongBreak));
+    private String exportFileName(StatsBackup.Format format) {
+        return "pomodoro-stats-" + EpochDays.format(EpochDays.today()) + "." + format.extension;
     }
 
-    private void updateBarChart(List<DatabaseHelper.DailyStats> weeklyStats) {
-        ArrayList<BarEntry> focusEntries = new ArrayList<>();
-        ArrayList<BarEntry> breakEntries = new ArrayList<>();
-        ArrayList<BarEntry> longBreakEntries = new ArrayList<>();
-        ArrayList<String> labels = new ArrayList<>();
-
-        for (int i = 0; i < weeklyStats.size(); i++) {
-            DatabaseHelper.DailyStats stats = weeklyStats.get(i);
-            focusEntries.add(new BarEntry(i, stats.focusCount));
-            breakEntries.add(new BarEntry(i, stats.breakCount));
-            longBreakEntries.add(new BarEntry(i, stats.longBreakCount));
-            labels.add(stats.date);
+    private void exportTo(Uri uri, StatsBackup.Format format) {
+        if (uri != null) {
+            statisticsViewModel.exportStats(uri, format);
         }
-
-        BarDataSet focusSet = new BarDataSet(focusEntries, "집중");
-        focusSet.setColor(Color.RED);
-        BarDataSet breakSet = new BarDataSet(breakEntries, "휴식");
-        breakSet.setColor(Color.GREEN);
-        BarDataSet longBreakSet = new BarDataSet(longBreakEntries, "긴 휴식");
-        longBreakSet.setColor(Color.BLUE);
-
-        ArrayList<IBarDataSet> dataSets = new ArrayList<>();
-        dataSets.add(focusSet);
-        dataSets.add(breakSet);
-        dataSets.add(longBreakSet);
-
-        BarData data = new BarData(dataSets);
-        data.setBarWidth(0.25f);
-
-        barChart.setData(data);
-        barChart.getXAxis().setValueFormatter(new IndexAxisValueFormatter(labels));
-        barChart.groupBars(0, 0.06f, 0.02f);
-        barChart.invalidate();
     }
 
+    // 초기화할 범위를 고르면 바로 초기화하고, 실행 취소 안내를 띄움
     private void resetStatistics() {
-        statisticsViewModel.resetStats();
+        new AlertDialog.Builder(requireContext())
+                .setTitle("통계 초기화")
+                .setItems(RESET_CHOICES, (dialog, which) -> {
+                    if (which < RESET_RANGES.length) {
+                        statisticsViewModel.resetRange(RESET_RANGES[which]);
+                    } else {
+                        statisticsViewModel.resetStats();
+                    }
+                })
+                .setNegativeButton("취소", null)
+                .show();
     }
 
     @Override
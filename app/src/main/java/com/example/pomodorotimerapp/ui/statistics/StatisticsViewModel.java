@@ -1,35 +1,179 @@
 package com.example.pomodorotimerapp.ui.statistics;
 
 import android.app.Application;
+import android.net.Uri;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
-import com.example.pomodorotimerapp.data.DatabaseHelper;
-
-import java.util.List;
+import com.example.pomodorotimerapp.data.EpochDays;
+import com.example.pomodorotimerapp.data.StatsBackup;
+import com.example.pomodorotimerapp.data.StatsChange;
+import com.example.pomodorotimerapp.data.StatsGranularity;
+import com.example.pomodorotimerapp.data.StatsRepository;
+import com.example.pomodorotimerapp.data.StatsSeries;
+import com.example.pomodorotimerapp.metrics.TraceSection;
 
 public class StatisticsViewModel extends AndroidViewModel {
-    private DatabaseHelper dbHelper;
-    private MutableLiveData<List<DatabaseHelper.DailyStats>> weeklyStats;
+    private final StatsRepository statsRepository;
+    private final StatsRepository.ChangeListener changeListener = this::onStatsChanged;
+    private final MutableLiveData<StatsUpdate> stats = new MutableLiveData<>();
+    // 내보내기/가져오기 결과 안내 (표시하면 null 로 되돌림)
+    private final MutableLiveData<String> transferMessage = new MutableLiveData<>();
+    // 실행 취소할 수 있는 초기화의 id (안내를 표시하면 null 로 되돌림)
+    private final MutableLiveData<Long> undoableReset = new MutableLiveData<>();
+    private StatsRange range = StatsRange.WEEK;
+
+    // 마지막으로 반영한 결과의 범위, 기준 날짜, 데이터 버전 (모두 같으면 다시 조회하지 않음)
+    private StatsSeries loadedStats;
+    private StatsRange loadedRange;
+    private int loadedToday;
+    private long loadedVersion = StatsRepository.UNKNOWN_VERSION;
+    // 조회 중인 범위 (같은 조회를 중복으로 보내지 않음)
+    private StatsRange loadingRange;
 
     public StatisticsViewModel(Application application) {
         super(application);
-        dbHelper = new DatabaseHelper(application);
-        weeklyStats = new MutableLiveData<>();
+        statsRepository = StatsRepository.getInstance(application);
+        statsRepository.addChangeListener(changeListener);
+    }
+
+    // 바뀐 것이 있을 때만 백그라운드에서 조회하고 결과는 메인 스레드 콜백으로 반영
+    public void loadStats() {
+        TraceSection.begin("StatisticsViewModel.loadStats");
+        try {
+            int today = EpochDays.today();
+            if (range == loadedRange && today == loadedToday
+                    && loadedVersion != StatsRepository.UNKNOWN_VERSION
+                    && loadedVersion == statsRepository.getVersion()) {
+                return;
+            }
+            if (range == loadingRange) {
+                return;
+            }
+            StatsRange requested = range;
+            loadingRange = requested;
+            long startVersion = statsRepository.getVersion();
+            statsRepository.loadStats(requested.fromDay(today), today, requested.granularity, (result, version) -> {
+                if (loadingRange == requested) {
+                    loadingRange = null;
+                }
+                // 조회 중에 범위가 바뀌었다면 늦게 도착한 결과는 버림
+                if (requested == range) {
+                    loadedStats = result;
+                    loadedRange = requested;
+                    loadedToday = today;
+                    loadedVersion = version;
+                    stats.setValue(new StatsUpdate(result, requested.granularity, StatsUpdate.ALL));
+                    // 조회 중에 도착한 변경 알림은 위의 중복 조회 검사에서 무시되었으므로,
+                    // 그동안 버전이 바뀌었으면 다시 조회 (결과가 이미 최신 버전이면 loadStats 가 건너뜀)
+                    if (statsRepository.getVersion() != startVersion && stats.hasActiveObservers()) {
+                        loadStats();
+                    }
+                }
+            });
+        } finally {
+            TraceSection.end();
+        }
+    }
+
+    // 세션 하나가 추가된 경우 조회 없이 해당 행만 갱신, 그 밖의 변경은 다시 조회
+    private void onStatsChanged(StatsChange change) {
+        if (loadedRange == null) {
+            return;
+        }
+        if (!change.isSingleSession() || loadedVersion == StatsRepository.UNKNOWN_VERSION
+                || change.version != loadedVersion + 1) {
+            loadedVersion = StatsRepository.UNKNOWN_VERSION;
+            if (stats.hasActiveObservers()) {
+                loadStats();
+            }
+            return;
+        }
+        loadedVersion = change.version;
+
+        StatsGranularity granularity = loadedRange.granularity;
+        int bucket = granularity.bucketOf(change.epochDay);
+        if (bucket < granularity.bucketOf(loadedRange.fromDay(loadedToday))
+                || bucket > granularity.bucketOf(loadedToday)) {
+            return;
+        }
+        int rowDay = granularity.firstDayOf(bucket);
+
+        int index = loadedStats.indexOf(rowDay);
+        loadedStats = loadedStats.plusSession(rowDay, change.type);
+        // 새 행이 끼어들면 인덱스가 밀리므로 전체 갱신
+        // 화면이 멈춰 있으면 LiveData 가 마지막 값만 남기고 앞선 델타를 버리므로, 다시 보일 때 전체를 그리도록 함
+        boolean deliveredNow = stats.hasActiveObservers();
+        stats.setValue(new StatsUpdate(loadedStats, granularity, index >= 0 && deliveredNow ? index : StatsUpdate.ALL));
+    }
+
+    public void setRange(StatsRange range) {
+        if (this.range != range) {
+            this.range = range;
+            loadStats();
+        }
     }
 
-    public void loadWeeklyStats() {
-        List<DatabaseHelper.DailyStats> stats = dbHelper.getWeeklyStats();
-        weeklyStats.postValue(stats);
+    public StatsRange getRange() {
+        return range;
     }
 
-    public LiveData<List<DatabaseHelper.DailyStats>> getWeeklyStats() {
-        return weeklyStats;
+    public LiveData<StatsUpdate> getStats() {
+        return stats;
     }
 
+    // 전체 초기화. 초기화 알림(onStatsChanged)이 다시 조회를 일으킴
     public void resetStats() {
-        dbHelper.resetStats();
-        loadWeeklyStats();
+        statsRepository.resetRange(Integer.MIN_VALUE, Integer.MAX_VALUE, undoableReset::setValue);
+    }
+
+    // 오늘 포함 최근 range.days 일 초기화
+    public void resetRange(StatsRange range) {
+        int today = EpochDays.today();
+        statsRepository.resetRange(range.fromDay(today), today, undoableReset::setValue);
+    }
+
+    public void undoReset(long resetId) {
+        statsRepository.undoReset(resetId, null);
+    }
+
+    public LiveData<Long> getUndoableReset() {
+        return undoableReset;
+    }
+
+    public void onUndoableResetShown() {
+        undoableReset.setValue(null);
+    }
+
+    public void exportStats(Uri uri, StatsBackup.Format format) {
+        statsRepository.exportStats(getApplication().getContentResolver(), uri, format, (result, error) ->
+                transferMessage.setValue(error != null ? "내보내기에 실패했습니다."
+                        : String.format("내보내기 완료: 세션 %d개, 일별 통계 %d개", result.sessions, result.days)));
+    }
+
+    // 가져오기가 끝나면 변경 알림(onStatsChanged)이 다시 조회를 일으킴
+    // 직전 초기화의 실행 취소 기간이 가져오기 때문에 끝났다면 함께 안내
+    public void importStats(Uri uri) {
+        statsRepository.importStats(getApplication().getContentResolver(), uri, (result, undoEnded, error) -> {
+            String message = error != null ? "가져오기에 실패했습니다."
+                    : String.format("가져오기 완료: 세션 %d개 추가 (중복 %d개, 잘못된 행 %d개 제외)",
+                    result.sessions, result.duplicateSessions, result.rejectedRows);
+            transferMessage.setValue(undoEnded ? message + "\n직전 초기화는 더 이상 실행 취소할 수 없습니다." : message);
+        });
+    }
+
+    public LiveData<String> getTransferMessage() {
+        return transferMessage;
+    }
+
+    public void onTransferMessageShown() {
+        transferMessage.setValue(null);
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        statsRepository.removeChangeListener(changeListener);
     }
-}
\ No newline at end of file
+}
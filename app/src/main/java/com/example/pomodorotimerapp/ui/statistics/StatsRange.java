@@ -0,0 +1,22 @@
+package com.example.pomodorotimerapp.ui.statistics;
+
+import com.example.pomodorotimerapp.data.StatsGranularity;
+
+// 통계 화면에서 선택할 수 있는 조회 범위 (오늘 포함 최근 N일)와 집계 단위
+public enum StatsRange {
+    WEEK(7, StatsGranularity.DAY),
+    MONTH(30, StatsGranularity.DAY),
+    YEAR(365, StatsGranularity.WEEK);
+
+    public final int days;
+    public final StatsGranularity granularity;
+
+    StatsRange(int days, StatsGranularity granularity) {
+        this.days = days;
+        this.granularity = granularity;
+    }
+
+    public int fromDay(int today) {
+        return today - days + 1;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.pomodorotimerapp.ui.statistics;
+
+import com.example.pomodorotimerapp.data.StatsGranularity;
+import com.example.pomodorotimerapp.data.StatsSeries;
+
+// 통계 화면에 전달하는 전체 계열과 이번에 바뀐 행 (changedIndex 가 ALL 이면 전체를 다시 그림)
+public final class StatsUpdate {
+    public static final int ALL = -1;
+
+    public final StatsSeries stats;
+    // stats 의 각 행이 나타내는 집계 단위 (차트 라벨 형식)
+    public final StatsGranularity granularity;
+    public final int changedIndex;
+
+    StatsUpdate(StatsSeries stats, StatsGranularity granularity, int changedIndex) {
+        this.stats = stats;
+        this.granularity = granularity;
+        this.changedIndex = changedIndex;
+    }
+}
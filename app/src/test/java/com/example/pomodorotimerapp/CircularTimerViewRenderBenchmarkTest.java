@@ -0,0 +1,108 @@
+package com.example.pomodorotimerapp;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.view.View;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.GraphicsMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 원 두 개와 부채꼴 두 개를 매 프레임 채우던 방식과 캐시된 링 비트맵 + 호 하나 방식의 프레임당 렌더링 시간 비교.
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class CircularTimerViewRenderBenchmarkTest {
+    private static final int SIZE = 600;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 500;
+
+    private CircularTimerView view;
+    private Bitmap target;
+    private Canvas canvas;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        view = new CircularTimerView(context);
+        view.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, SIZE, SIZE);
+        view.setTotalTime(60_000);
+        view.updateTime(30_000);
+
+        target = Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888);
+        canvas = new Canvas(target);
+    }
+
+    @Test
+    public void halfProgress_drawsRingFromTopClockwise() {
+        view.draw(canvas);
+
+        int ringMiddle = SIZE / 8;
+        assertEquals(Color.RED, target.getPixel(SIZE / 2, ringMiddle));
+        assertEquals(Color.RED, target.getPixel(SIZE - ringMiddle, SIZE / 2));
+        assertEquals(Color.LTGRAY, target.getPixel(ringMiddle, SIZE / 2));
+        // 링 안쪽은 비어 있음
+        assertEquals(Color.TRANSPARENT, target.getPixel(SIZE / 2, SIZE / 2));
+    }
+
+    @Test
+    public void cachedRing_vs_fourFillsPerFrame() {
+        LegacyRenderer legacy = new LegacyRenderer(0.5f);
+
+        long legacyNanos = measure(() -> legacy.draw(canvas));
+        long cachedNanos = measure(() -> view.draw(canvas));
+
+        assertTrue(String.format("ring render  four fills: %,d ns/frame, cached ring + arc: %,d ns/frame",
+                legacyNanos, cachedNanos), cachedNanos < legacyNanos);
+    }
+
+    private long measure(Runnable frame) {
+        for (int i = 0; i < WARMUP; i++) {
+            target.eraseColor(Color.TRANSPARENT);
+            frame.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            target.eraseColor(Color.TRANSPARENT);
+            frame.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    // 이전 onDraw 와 같은 그리기 순서
+    private static class LegacyRenderer {
+        private final Paint backgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        private final Paint progressPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        private final RectF outerRectF = new RectF(0, 0, SIZE, SIZE);
+        private final RectF innerRectF = new RectF(SIZE / 4f, SIZE / 4f, SIZE * 3 / 4f, SIZE * 3 / 4f);
+        private final float progress;
+
+        LegacyRenderer(float progress) {
+            this.progress = progress;
+            backgroundPaint.setColor(Color.LTGRAY);
+            progressPaint.setColor(Color.RED);
+        }
+
+        void draw(Canvas canvas) {
+            float sweepAngle = 360 * progress;
+            canvas.drawCircle(outerRectF.centerX(), outerRectF.centerY(), outerRectF.width() / 2, backgroundPaint);
+            canvas.drawArc(outerRectF, -90, sweepAngle, true, progressPaint);
+            canvas.drawCircle(innerRectF.centerX(), innerRectF.centerY(), innerRectF.width() / 2, backgroundPaint);
+            canvas.drawArc(innerRectF, -90, sweepAngle, true, progressPaint);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.pomodorotimerapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FrameCounterTest {
+    private static final long FRAME = 16_666_667L;
+
+    @Test
+    public void consecutiveFrames_areNotDropped() {
+        FrameCounter counter = new FrameCounter(FRAME);
+        for (int i = 0; i < 60; i++) {
+            // vsync 시각에 약간의 흔들림이 있어도 누락으로 세지 않음
+            counter.onFrame(i * FRAME + (i % 2) * 2_000_000L);
+        }
+
+        assertEquals(60, counter.getFrameCount());
+        assertEquals(0, counter.getDroppedFrameCount());
+    }
+
+    @Test
+    public void longGap_countsSkippedVsyncs() {
+        FrameCounter counter = new FrameCounter(FRAME);
+        counter.onFrame(0);
+        counter.onFrame(FRAME);
+        counter.onFrame(4 * FRAME);
+
+        assertEquals(3, counter.getFrameCount());
+        assertEquals(2, counter.getDroppedFrameCount());
+        assertEquals(3 * FRAME, counter.getMaxFrameIntervalNanos());
+    }
+
+    @Test
+    public void brokenSequence_isNotCountedAsDropped() {
+        FrameCounter counter = new FrameCounter(FRAME);
+        counter.onFrame(0);
+        counter.breakSequence();
+        counter.onFrame(100 * FRAME);
+
+        assertEquals(0, counter.getDroppedFrameCount());
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.pomodorotimerapp;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.pomodorotimerapp.data.EpochDays;
+import com.example.pomodorotimerapp.data.StatsGranularity;
+import com.github.mikephil.charting.charts.BarChart;
+import com.github.mikephil.charting.data.BarData;
+import com.github.mikephil.charting.data.BarDataSet;
+import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.formatter.IndexAxisValueFormatter;
+import com.github.mikephil.charting.interfaces.datasets.IBarDataSet;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 통계 화면이 열릴 때마다 하던 작업(데이터 설정 + 한 프레임 그리기)의 비용을
+ * 이전 MPAndroidChart BarChart 와 StatsChartView 로 비교. 날짜 라벨 형식과 탭/드래그 구분도 확인.
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class StatsChartViewRenderBenchmarkTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1200;
+    private static final int WARMUP = 10;
+    private static final int ITERATIONS = 50;
+    private static final int FIRST_DAY = 19_700;
+
+    private Context context;
+    private Canvas canvas;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        canvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+    }
+
+    @Test
+    public void longRange_drawsOnlyVisibleGroups_endingAtMostRecent() {
+        StatsChartView chart = layout(new StatsChartView(context));
+        Data data = new Data(365);
+        chart.setData(data.epochDays, data.focus, data.breaks, data.longBreaks, data.count, StatsGranularity.DAY);
+        chart.skipAnimation();
+
+        assertEquals(364, chart.getLastVisibleIndex());
+        int visible = chart.getLastVisibleIndex() - chart.getFirstVisibleIndex() + 1;
+        assertTrue("visible groups: " + visible, visible < 365);
+    }
+
+    @Test
+    public void labels_followGranularity() {
+        StatsChartView chart = layout(new StatsChartView(context));
+        int monday = EpochDays.parse("2024-03-04");
+        int[] days = {monday, monday + 7};
+        int[] zeros = new int[2];
+
+        chart.setData(days, zeros, zeros, zeros, 2, StatsGranularity.DAY);
+        assertEquals("03-04", chart.getLabel(0));
+        chart.setData(days, zeros, zeros, zeros, 2, StatsGranularity.WEEK);
+        assertEquals("03-11~", chart.getLabel(1));
+        chart.setData(new int[]{EpochDays.parse("2024-03-01")}, zeros, zeros, zeros, 1, StatsGranularity.MONTH);
+        assertEquals("2024-03", chart.getLabel(0));
+        chart.setData(new int[]{EpochDays.parse("2024-01-01")}, zeros, zeros, zeros, 1, StatsGranularity.YEAR);
+        assertEquals("2024", chart.getLabel(0));
+    }
+
+    @Test
+    public void click_onlyOnTap_notAfterDrag() {
+        StatsChartView chart = layout(new StatsChartView(context));
+        Data data = new Data(365);
+        chart.setData(data.epochDays, data.focus, data.breaks, data.longBreaks, data.count, StatsGranularity.DAY);
+        int[] clicks = new int[1];
+        chart.setOnClickListener(v -> clicks[0]++);
+
+        long time = 1000;
+        chart.dispatchTouchEvent(MotionEvent.obtain(time, time, MotionEvent.ACTION_DOWN, 500, 600, 0));
+        chart.dispatchTouchEvent(MotionEvent.obtain(time, time + 50, MotionEvent.ACTION_UP, 500, 600, 0));
+        assertEquals(1, clicks[0]);
+
+        time += 1000;
+        chart.dispatchTouchEvent(MotionEvent.obtain(time, time, MotionEvent.ACTION_DOWN, 800, 600, 0));
+        chart.dispatchTouchEvent(MotionEvent.obtain(time, time + 50, MotionEvent.ACTION_MOVE, 500, 600, 0));
+        chart.dispatchTouchEvent(MotionEvent.obtain(time, time + 100, MotionEvent.ACTION_MOVE, 200, 600, 0));
+        chart.dispatchTouchEvent(MotionEvent.obtain(time, time + 150, MotionEvent.ACTION_UP, 200, 600, 0));
+        assertEquals(1, clicks[0]);
+    }
+
+    @Test
+    public void statsChartView_vs_barChart() {
+        for (int days : new int[]{7, 30, 365}) {
+            Data data = new Data(days);
+
+            BarChart barChart = layout(new BarChart(context));
+            long barChartNanos = measure(() -> {
+                setBarChartData(barChart, data);
+                barChart.draw(canvas);
+            });
+
+            StatsChartView statsChart = layout(new StatsChartView(context));
+            long statsChartNanos = measure(() -> {
+                statsChart.setData(data.epochDays, data.focus, data.breaks, data.longBreaks, data.count,
+                        StatsGranularity.DAY);
+                statsChart.skipAnimation();
+                statsChart.draw(canvas);
+            });
+
+            assertTrue(String.format("%d days  BarChart: %,d ns/frame, StatsChartView: %,d ns/frame",
+                    days, barChartNanos, statsChartNanos), statsChartNanos < barChartNanos);
+        }
+    }
+
+    private <T extends View> T layout(T view) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, WIDTH, HEIGHT);
+        return view;
+    }
+
+    private long measure(Runnable frame) {
+        for (int i = 0; i < WARMUP; i++) {
+            frame.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            frame.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    // 이전 StatisticsFragment.updateBarChart 와 같은 방식
+    private static void setBarChartData(BarChart barChart, Data data) {
+        ArrayList<BarEntry> focusEntries = new ArrayList<>();
+        ArrayList<BarEntry> breakEntries = new ArrayList<>();
+        ArrayList<BarEntry> longBreakEntries = new ArrayList<>();
+        ArrayList<String> labels = new ArrayList<>();
+        for (int i = 0; i < data.count; i++) {
+            focusEntries.add(new BarEntry(i, data.focus[i]));
+            breakEntries.add(new BarEntry(i, data.breaks[i]));
+            longBreakEntries.add(new BarEntry(i, data.longBreaks[i]));
+            labels.add(EpochDays.format(data.epochDays[i]));
+        }
+        BarDataSet focusSet = new BarDataSet(focusEntries, "집중");
+        focusSet.setColor(Color.RED);
+        BarDataSet breakSet = new BarDataSet(breakEntries, "휴식");
+        breakSet.setColor(Color.GREEN);
+        BarDataSet longBreakSet = new BarDataSet(longBreakEntries, "긴 휴식");
+        longBreakSet.setColor(Color.BLUE);
+        ArrayList<IBarDataSet> dataSets = new ArrayList<>();
+        dataSets.add(focusSet);
+        dataSets.add(breakSet);
+        dataSets.add(longBreakSet);
+        BarData barData = new BarData(dataSets);
+        barData.setBarWidth(0.25f);
+        barChart.setData(barData);
+        barChart.getXAxis().setValueFormatter(new IndexAxisValueFormatter(labels));
+        barChart.groupBars(0, 0.06f, 0.02f);
+    }
+
+    private static class Data {
+        final int count;
+        final int[] epochDays;
+        final int[] focus;
+        final int[] breaks;
+        final int[] longBreaks;
+
+        Data(int count) {
+            this.count = count;
+            epochDays = new int[count];
+            focus = new int[count];
+            breaks = new int[count];
+            longBreaks = new int[count];
+            for (int i = 0; i < count; i++) {
+                epochDays[i] = FIRST_DAY + i;
+                focus[i] = (i * 7) % 9;
+                breaks[i] = (i * 5) % 7;
+                longBreaks[i] = i % 3 == 0 ? 1 : 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.pomodorotimerapp.data;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 호출마다 연결을 열고 닫던 방식과 공유 연결(WAL) 방식의 연산당 지연 시간 비교.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DatabaseHelperBenchmarkTest {
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase("bench.db");
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase("bench.db");
+    }
+
+    @Test
+    public void sharedConnection_vs_openClosePerCall() {
+        DatabaseHelper helper = new DatabaseHelper(context, "bench.db");
+
+        long openCloseWrite = measureWrites(helper, true);
+        long openCloseRead = measureReads(helper, true);
+        long sharedWrite = measureWrites(helper, false);
+        long sharedRead = measureReads(helper, false);
+
+        // 공유 연결은 매번 여는 비용(파일 열기, PRAGMA, 문장 컴파일)이 없으므로 읽기/쓰기 모두 빨라야 함
+        assertTrue(String.format("addSession open/close: %,d ns/op, shared: %,d ns/op", openCloseWrite, sharedWrite),
+                sharedWrite < openCloseWrite);
+        assertTrue(String.format("getWeeklyStats open/close: %,d ns/op, shared: %,d ns/op", openCloseRead, sharedRead),
+                sharedRead < openCloseRead);
+
+        // 트리거가 모든 세션을 오늘 날짜 한 행으로 집계했는지 확인
+        DatabaseHelper.DailyStats today = helper.getWeeklyStats().get(0);
+        assertEquals(2 * (WARMUP + ITERATIONS), today.focusCount);
+        helper.close();
+    }
+
+    private long measureWrites(DatabaseHelper helper, boolean closeEachCall) {
+        for (int i = 0; i < WARMUP; i++) {
+            write(helper, closeEachCall);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            write(helper, closeEachCall);
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private long measureReads(DatabaseHelper helper, boolean closeEachCall) {
+        for (int i = 0; i < WARMUP; i++) {
+            read(helper, closeEachCall);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            read(helper, closeEachCall);
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private void write(DatabaseHelper helper, boolean closeEachCall) {
+        long now = System.currentTimeMillis();
+        helper.addSession(DatabaseHelper.TYPE_FOCUS, now - 1000, now, 1000, 1000);
+        if (closeEachCall) {
+            helper.close();
+        }
+    }
+
+    private void read(DatabaseHelper helper, boolean closeEachCall) {
+        helper.getWeeklyStats();
+        if (closeEachCall) {
+            helper.close();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.pomodorotimerapp.data;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class DatabaseHelperMigrationTest {
+    private static final String NAME = "migration.db";
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(NAME);
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(NAME);
+    }
+
+    @Test
+    public void upgradeFromV2_keepsDailyStatsAndSessions() {
+        // v2 스키마를 직접 만들어 기존 데이터 준비
+        SQLiteDatabase legacy = SQLiteDatabase.openOrCreateDatabase(context.getDatabasePath(NAME), null);
+        legacy.execSQL("CREATE TABLE stats(date TEXT PRIMARY KEY,focus_count INTEGER,break_count INTEGER,long_break_count INTEGER)");
+        legacy.execSQL("CREATE TABLE sessions(_id INTEGER PRIMARY KEY AUTOINCREMENT,start_time INTEGER NOT NULL,"
+                + "end_time INTEGER NOT NULL,date TEXT NOT NULL,type TEXT NOT NULL,"
+                + "planned_duration INTEGER NOT NULL,actual_duration INTEGER NOT NULL)");
+        legacy.execSQL("INSERT INTO stats VALUES ('2024-03-01', 4, 3, 1)");
+        legacy.execSQL("INSERT INTO stats VALUES ('2024-03-02', 2, 2, 0)");
+        legacy.execSQL("INSERT INTO sessions (start_time, end_time, date, type, planned_duration, actual_duration) "
+                + "VALUES (0, 1000, '1970-01-01', 'focus', 1000, 1000)");
+        legacy.setVersion(2);
+        legacy.close();
+
+        DatabaseHelper helper = new DatabaseHelper(context, NAME);
+        int march1 = EpochDays.of(2024, 3, 1);
+        List<DatabaseHelper.DailyStats> stats = helper.getDailyStats(march1, march1 + 1);
+
+        assertEquals(2, stats.size());
+        assertEquals(march1, stats.get(0).epochDay);
+        assertEquals(4, stats.get(0).focusCount);
+        assertEquals(3, stats.get(0).breakCount);
+        assertEquals(1, stats.get(0).longBreakCount);
+        assertEquals("2024-03-02", stats.get(1).date);
+
+        // 마이그레이션 후에도 세션 추가가 새 키로 집계되는지 확인
+        long now = System.currentTimeMillis();
+        helper.addSession(DatabaseHelper.TYPE_BREAK, now - 1000, now, 1000, 1000);
+        List<DatabaseHelper.DailyStats> today = helper.getDailyStats(EpochDays.today(), EpochDays.today());
+        assertEquals(1, today.get(0).breakCount);
+
+        // v5 의 범위 초기화 표시도 기존 기록에 적용됨
+        long resetId = helper.addTombstone(march1, march1);
+        assertEquals(1, helper.getDailyStats(march1, march1 + 1).size());
+        helper.removeTombstone(resetId);
+        helper.close();
+    }
+}
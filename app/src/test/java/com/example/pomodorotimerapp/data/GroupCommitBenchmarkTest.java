@@ -0,0 +1,171 @@
+package com.example.pomodorotimerapp.data;
+
+import android.content.Context;
+import android.os.Looper;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 세션 기록을 하나씩 커밋할 때와 한 트랜잭션으로 모아 커밋할 때의 초당 처리 수 비교,
+ * 저장소의 그룹 커밋이 모든 기록을 세션 단위 변경 알림과 함께 반영하는지 확인.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class GroupCommitBenchmarkTest {
+    private static final String NAME = "group-commit-bench.db";
+    private static final int EVENTS = 2000;
+    private static final long TIMEOUT_MS = 10_000;
+
+    private Context context;
+    private DatabaseHelper helper;
+    private long now;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(NAME);
+        helper = new DatabaseHelper(context, NAME);
+        now = System.currentTimeMillis();
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(NAME);
+    }
+
+    @Test
+    public void eventsPerSecond_singleCommit_vs_groupCommit() {
+        // 세션마다 암시적 트랜잭션 (기존 방식)
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            helper.addSession(DatabaseHelper.TYPE_FOCUS, now - 1000, now, 1000, 1000);
+        }
+        long singleNanos = System.nanoTime() - start;
+
+        // 같은 수의 세션을 한 트랜잭션으로
+        start = System.nanoTime();
+        helper.runInTransaction(() -> {
+            for (int i = 0; i < EVENTS; i++) {
+                helper.addSession(DatabaseHelper.TYPE_BREAK, now - 1000, now, 1000, 1000);
+            }
+        });
+        long groupNanos = System.nanoTime() - start;
+
+        StatsSeries today = helper.getStats(EpochDays.fromMillis(now), EpochDays.fromMillis(now), StatsGranularity.DAY);
+        assertEquals(EVENTS, today.focus[0]);
+        assertEquals(EVENTS, today.breaks[0]);
+
+        assertTrue(String.format("single commit: %,d ns, group commit: %,d ns", singleNanos, groupNanos),
+                groupNanos < singleNanos);
+    }
+
+    @Test
+    public void repository_commitsBurstInGroups_andNotifiesEachSession() {
+        // 저장소가 연 트랜잭션(커밋) 수를 셈
+        AtomicInteger transactions = new AtomicInteger();
+        DatabaseHelper counting = new DatabaseHelper(context, NAME) {
+            @Override
+            void runInTransaction(Runnable body) {
+                transactions.incrementAndGet();
+                super.runInTransaction(body);
+            }
+        };
+        StatsRepository repository = new StatsRepository(counting);
+        List<StatsChange> changes = new ArrayList<>();
+        repository.addChangeListener(changes::add);
+        AtomicInteger completed = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            repository.addSession(DatabaseHelper.TYPE_FOCUS, now - 1000, now, 1000, 1000, completed::incrementAndGet);
+        }
+        await(() -> completed.get() == EVENTS);
+        long latencyMs = (System.nanoTime() - start) / 1_000_000;
+        counting.close();
+
+        // 가득 찬 묶음마다 한 번, 남은 기록은 시간 창이 끝날 때 한 번 (쓰기 스레드가 밀리면 묶음이 더 커짐)
+        int maxTransactions = EVENTS / StatsRepository.GROUP_COMMIT_MAX_SESSIONS + 2;
+        assertTrue("transactions " + transactions.get(), transactions.get() <= maxTransactions);
+        // 마지막 기록도 시간 창 안에 커밋됨
+        assertTrue("latency " + latencyMs + " ms", latencyMs < StatsRepository.GROUP_COMMIT_WINDOW_MS + 2000);
+
+        assertEquals(EVENTS, repository.getVersion());
+        assertEquals(EVENTS, changes.size());
+        for (int i = 0; i < EVENTS; i++) {
+            assertTrue(changes.get(i).isSingleSession());
+            assertEquals(i + 1, changes.get(i).version);
+        }
+        StatsSeries today = helper.getStats(EpochDays.fromMillis(now), EpochDays.fromMillis(now), StatsGranularity.DAY);
+        assertEquals(EVENTS, today.focus[0]);
+    }
+
+    @Test
+    public void singleSession_isCommittedWithinWindow_orOnFlush() {
+        StatsRepository repository = new StatsRepository(helper);
+        AtomicInteger completed = new AtomicInteger();
+
+        long start = System.nanoTime();
+        repository.addSession(DatabaseHelper.TYPE_FOCUS, now - 1000, now, 1000, 1000, completed::incrementAndGet);
+        await(() -> completed.get() == 1);
+        long latencyMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue("latency " + latencyMs + " ms", latencyMs < StatsRepository.GROUP_COMMIT_WINDOW_MS + 2000);
+
+        // onStop 의 flush 는 시간 창을 기다리지 않음 (창의 절반이 지나기 전에 커밋되어야 함)
+        repository.addSession(DatabaseHelper.TYPE_BREAK, now - 1000, now, 1000, 1000, completed::incrementAndGet);
+        repository.flush();
+        await(() -> completed.get() == 2, StatsRepository.GROUP_COMMIT_WINDOW_MS / 2);
+        StatsSeries today = helper.getStats(EpochDays.fromMillis(now), EpochDays.fromMillis(now), StatsGranularity.DAY);
+        assertEquals(1, today.breaks[0]);
+    }
+
+    @Test
+    public void failedCommit_stillRunsCompletionCallbacks() {
+        DatabaseHelper failing = new DatabaseHelper(context, NAME) {
+            @Override
+            public synchronized void addSession(String type, long startTime, long endTime, long plannedDuration,
+                                                long actualDuration) {
+                throw new IllegalStateException("disk full");
+            }
+        };
+        StatsRepository repository = new StatsRepository(failing);
+        AtomicInteger completed = new AtomicInteger();
+
+        repository.addSession(DatabaseHelper.TYPE_FOCUS, now - 1000, now, 1000, 1000, completed::incrementAndGet);
+        repository.addSession(DatabaseHelper.TYPE_BREAK, now - 1000, now, 1000, 1000, completed::incrementAndGet);
+        repository.flush();
+        await(() -> completed.get() == 2);
+        assertEquals(2, repository.getVersion());
+        failing.close();
+    }
+
+    // 쓰기 스레드가 메인 스레드로 보낸 알림/완료 콜백을 처리하며 기다림
+    private static void await(BooleanSupplier condition) {
+        await(condition, TIMEOUT_MS);
+    }
+
+    private static void await(BooleanSupplier condition, long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("timed out");
+            }
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.yield();
+        }
+    }
+}
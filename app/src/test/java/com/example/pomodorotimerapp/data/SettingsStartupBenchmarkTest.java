@@ -0,0 +1,72 @@
+package com.example.pomodorotimerapp.data;
+
+import android.content.Context;
+import android.os.Looper;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 시작 시 설정 로드: 메인 스레드에서 읽지 않고, 백그라운드에서 읽은 스냅샷이 메인 스레드로 공개되는지 확인.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SettingsStartupBenchmarkTest {
+    private static final int ITERATIONS = 50;
+    private static final TimerSettings CUSTOM = new TimerSettings(50 * 60 * 1000, 10 * 60 * 1000,
+            30 * 60 * 1000, 3, false, true);
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+    }
+
+    @Test
+    public void updatedSettings_areLoadedAfterRestart() throws InterruptedException {
+        SettingsRepository repository = new SettingsRepository(context);
+        awaitIo(repository);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(TimerSettings.DEFAULT, repository.getCurrent());
+
+        repository.update(CUSTOM);
+        assertEquals(CUSTOM, repository.getCurrent());
+        awaitIo(repository);
+
+        // 새 프로세스와 같은 상태: 로드 전에는 값이 없고 로드 후 저장된 스냅샷이 공개됨
+        SettingsRepository restarted = new SettingsRepository(context);
+        awaitIo(restarted);
+        assertNull(restarted.getSettings().getValue());
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(CUSTOM, restarted.getCurrent());
+    }
+
+    @Test
+    public void repeatedStartups_publishSnapshotOnlyAfterBackgroundLoad() throws InterruptedException {
+        for (int i = 0; i < ITERATIONS; i++) {
+            SettingsRepository repository = new SettingsRepository(context);
+            awaitIo(repository);
+            // 읽기는 백그라운드에서 끝났고, 값은 메인 스레드로 전달된 뒤에야 공개됨
+            assertNull(repository.getSettings().getValue());
+            shadowOf(Looper.getMainLooper()).idle();
+            assertEquals(TimerSettings.DEFAULT, repository.getSettings().getValue());
+        }
+    }
+
+    private static void awaitIo(SettingsRepository repository) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        repository.runInBackground(latch::countDown);
+        latch.await(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.pomodorotimerapp.data;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * CSV/JSON 내보내기-가져오기 왕복, 중복/잘못된 행 처리, 10만 세션 가져오기 시간 측정 (메모리 DB).
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StatsBackupTest {
+    private static final int SESSIONS = 100_000;
+    private static final long MINUTE = 60 * 1000L;
+    // 2024-01-01 00:00 UTC 부근, 세션 간격 20분이면 10만 개가 약 3.8년에 걸침
+    private static final long FIRST_START = 1_704_067_200_000L;
+    private static final String[] TYPES = {
+            DatabaseHelper.TYPE_FOCUS, DatabaseHelper.TYPE_BREAK, DatabaseHelper.TYPE_FOCUS, DatabaseHelper.TYPE_LONG_BREAK
+    };
+
+    private Context context;
+    private DatabaseHelper source;
+    private DatabaseHelper target;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        // 이름이 null 이면 메모리 DB
+        source = new DatabaseHelper(context, null);
+        target = new DatabaseHelper(context, null);
+    }
+
+    @After
+    public void tearDown() {
+        source.close();
+        target.close();
+    }
+
+    @Test
+    public void import100kSessions_completesInSeconds() throws IOException {
+        String csv = generatedCsv(SESSIONS);
+
+        long start = System.nanoTime();
+        StatsBackup.Result result = StatsBackup.importFrom(target, new StringReader(csv));
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(SESSIONS, result.sessions);
+        assertEquals(0, result.duplicateSessions);
+        assertEquals(0, result.rejectedRows);
+        assertEquals(SESSIONS / 2, totalFocus(target));
+        assertTrue("import took " + millis + " ms", millis < 30_000);
+
+        // 같은 파일을 다시 가져오면 모두 중복으로 건너뜀
+        StatsBackup.Result again = StatsBackup.importFrom(target, new StringReader(csv));
+        assertEquals(0, again.sessions);
+        assertEquals(SESSIONS, again.duplicateSessions);
+        assertEquals(SESSIONS / 2, totalFocus(target));
+    }
+
+    @Test
+    public void csvRoundTrip_preservesStatsAndRollups() throws IOException {
+        StatsBackup.importFrom(source, new StringReader(generatedCsv(5000)));
+        assertRoundTrip(StatsBackup.Format.CSV);
+    }
+
+    @Test
+    public void jsonRoundTrip_preservesStatsAndRollups() throws IOException {
+        StatsBackup.importFrom(source, new StringReader(generatedCsv(5000)));
+        assertRoundTrip(StatsBackup.Format.JSON);
+    }
+
+    @Test
+    public void legacyDayRows_areMergedByDateWithoutDoubleCounting() throws IOException {
+        int day = EpochDays.parse("2023-05-01");
+        long end = day * EpochDays.MILLIS_PER_DAY + 12 * 60 * MINUTE
+                - TimeZone.getDefault().getOffset(day * EpochDays.MILLIS_PER_DAY);
+        target.addSession(DatabaseHelper.TYPE_FOCUS, end - 25 * MINUTE, end, 25 * MINUTE, 25 * MINUTE);
+
+        // 세션 로그가 없는 예전 기록: 집중 3회. 이미 있는 세션 1회와 합쳐 중복 없이 3회가 되어야 함
+        String csv = "kind,date,focus_count,break_count,long_break_count\n"
+                + "day,2023-05-01,3,1,0\n"
+                + "day,2023-02-30,1,1,1\n"
+                + "session,not-a-number,1,focus,1,1\n"
+                + "session,1,2,nap,1,1\n"
+                // 음수 값은 JSON 과 마찬가지로 거부
+                + "session,-5,2,focus,1,1\n"
+                + "session,1,2,focus,1,-1\n"
+                + "day,2023-05-01,-4,0,0\n";
+        StatsBackup.Result result = StatsBackup.importFrom(target, new StringReader(csv));
+
+        assertEquals(1, result.days);
+        assertEquals(6, result.rejectedRows);
+        StatsSeries daily = target.getStats(day, day, StatsGranularity.DAY);
+        assertEquals(3, daily.focus[0]);
+        assertEquals(1, daily.breaks[0]);
+        // 롤업도 병합된 일별 통계 기준으로 다시 계산됨
+        assertEquals(3, target.getStats(day, day, StatsGranularity.MONTH).totalFocus());
+        assertEquals(3, target.getStats(day, day, StatsGranularity.YEAR).totalFocus());
+    }
+
+    @Test
+    public void jsonWithDaysBeforeSessions_isNotDoubleCounted() throws IOException {
+        int day = EpochDays.parse("2024-03-10");
+        long noon = day * EpochDays.MILLIS_PER_DAY + 12 * 60 * MINUTE
+                - TimeZone.getDefault().getOffset(day * EpochDays.MILLIS_PER_DAY);
+
+        // 다른 도구가 다시 저장해 키 순서가 바뀐 파일: 일별 통계가 세션보다 먼저 나옴
+        String json = "{\"days\":[{\"date\":\"2024-03-10\",\"focus_count\":2,\"break_count\":1,"
+                + "\"long_break_count\":0}],\n\"sessions\":["
+                + jsonSession(DatabaseHelper.TYPE_FOCUS, noon) + ","
+                + jsonSession(DatabaseHelper.TYPE_FOCUS, noon + 30 * MINUTE) + ","
+                + jsonSession(DatabaseHelper.TYPE_BREAK, noon + 60 * MINUTE) + "],"
+                + "\"format\":\"pomodoro-stats\",\"version\":1}";
+        StatsBackup.Result result = StatsBackup.importFrom(target, new StringReader(json));
+
+        assertEquals(3, result.sessions);
+        assertEquals(1, result.days);
+        StatsSeries daily = target.getStats(day, day, StatsGranularity.DAY);
+        assertEquals(2, daily.focus[0]);
+        assertEquals(1, daily.breaks[0]);
+        assertEquals(2, target.getStats(day, day, StatsGranularity.MONTH).totalFocus());
+    }
+
+    private static String jsonSession(String type, long end) {
+        return "{\"start_time\":" + (end - 25 * MINUTE) + ",\"end_time\":" + end + ",\"type\":\"" + type
+                + "\",\"planned_duration\":" + 25 * MINUTE + ",\"actual_duration\":" + 25 * MINUTE + "}";
+    }
+
+    private void assertRoundTrip(StatsBackup.Format format) throws IOException {
+        StringWriter out = new StringWriter();
+        StatsBackup.Result exported = StatsBackup.export(source, out, format);
+        assertEquals(5000, exported.sessions);
+
+        StatsBackup.Result imported = StatsBackup.importFrom(target, new StringReader(out.toString()));
+        assertEquals(5000, imported.sessions);
+        assertEquals(exported.days, imported.days);
+        assertEquals(0, imported.rejectedRows);
+
+        int from = EpochDays.fromMillis(FIRST_START) - 1;
+        int to = EpochDays.fromMillis(FIRST_START + 5000 * 20 * MINUTE) + 1;
+        for (StatsGranularity granularity : StatsGranularity.values()) {
+            StatsSeries expected = source.getStats(from, to, granularity);
+            StatsSeries actual = target.getStats(from, to, granularity);
+            assertEquals(granularity.name(), expected.size(), actual.size());
+            assertArrayEquals(granularity.name(), expected.epochDays, actual.epochDays);
+            assertArrayEquals(granularity.name(), expected.focus, actual.focus);
+            assertArrayEquals(granularity.name(), expected.breaks, actual.breaks);
+            assertArrayEquals(granularity.name(), expected.longBreaks, actual.longBreaks);
+        }
+    }
+
+    private static int totalFocus(DatabaseHelper helper) {
+        int firstDay = EpochDays.fromMillis(FIRST_START);
+        return helper.getStats(firstDay, firstDay + 5 * 365, StatsGranularity.YEAR).totalFocus();
+    }
+
+    // 20분 간격, 25분 계획의 세션 count 개 (절반이 집중)
+    private static String generatedCsv(int count) {
+        StringBuilder csv = new StringBuilder(count * 64);
+        csv.append("kind,start_time,end_time,type,planned_duration,actual_duration\n");
+        for (int i = 0; i < count; i++) {
+            long start = FIRST_START + i * 20 * MINUTE;
+            long actual = (15 + i % 10) * MINUTE;
+            csv.append("session,").append(start).append(',').append(start + actual).append(',')
+                    .append(TYPES[i % TYPES.length]).append(',').append(25 * MINUTE).append(',')
+                    .append(actual).append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.pomodorotimerapp.data;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Looper;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 주/월/연 범위를 오갈 때 첫 조회 뒤로는 DB 조회 없이 캐시에서 응답하는지 확인,
+ * 세션 추가 시 해당 버킷을 포함하는 항목만 무효화되는지 확인.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StatsCacheBenchmarkTest {
+    private static final String NAME = "cache-bench.db";
+    private static final int DAYS = 2 * 365;
+    private static final int ITERATIONS = 50;
+    private static final long TIMEOUT_MS = 5000;
+
+    private Context context;
+    private DatabaseHelper helper;
+    private StatsRepository repository;
+    // 저장소가 DB 에 보낸 통계 조회 수
+    private final AtomicInteger dbQueries = new AtomicInteger();
+    private int today;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(NAME);
+        helper = new DatabaseHelper(context, NAME) {
+            @Override
+            public StatsSeries getStats(int fromDay, int toDay, StatsGranularity granularity) {
+                dbQueries.incrementAndGet();
+                return super.getStats(fromDay, toDay, granularity);
+            }
+        };
+
+        // 하루에 집중 4회, 휴식 3회, 긴 휴식 1회
+        today = EpochDays.today();
+        SQLiteDatabase db = helper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (int day = today - DAYS + 1; day <= today; day++) {
+                long noon = noonOf(day);
+                for (int i = 0; i < 8; i++) {
+                    String type = i < 4 ? DatabaseHelper.TYPE_FOCUS : i < 7 ? DatabaseHelper.TYPE_BREAK : DatabaseHelper.TYPE_LONG_BREAK;
+                    helper.addSession(type, noon - 1000, noon, 1000, 1000);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        repository = new StatsRepository(helper);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(NAME);
+    }
+
+    @Test
+    public void flippingRanges_isServedFromMemory_afterFirstLoad() {
+        StatsCache cache = repository.getCache();
+        int weekFrom = today - 6;
+        int monthFrom = today - 29;
+        int yearFrom = today - 364;
+
+        StatsSeries week = load(weekFrom, today, StatsGranularity.DAY);
+        StatsSeries month = load(monthFrom, today, StatsGranularity.DAY);
+        StatsSeries year = load(yearFrom, today, StatsGranularity.WEEK);
+        assertEquals(3, cache.getMissCount());
+        assertEquals(3, dbQueries.get());
+        assertEquals(7, week.size());
+        assertEquals(30, month.size());
+
+        // 범위를 오가는 동안은 DB 조회 없이 모두 캐시에서
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertSame(week, load(weekFrom, today, StatsGranularity.DAY));
+            assertSame(month, load(monthFrom, today, StatsGranularity.DAY));
+            assertSame(year, load(yearFrom, today, StatsGranularity.WEEK));
+        }
+        assertEquals(3, cache.getMissCount());
+        assertEquals(3 * ITERATIONS, cache.getHitCount());
+        assertEquals(3, dbQueries.get());
+    }
+
+    @Test
+    public void addSession_invalidatesOnlyCoveringRanges() {
+        StatsCache cache = repository.getCache();
+        int lastYearDay = today - 400;
+        StatsSeries week = load(today - 6, today, StatsGranularity.DAY);
+        StatsSeries old = load(lastYearDay - 6, lastYearDay, StatsGranularity.DAY);
+        assertEquals(2, cache.size());
+
+        AtomicBoolean done = new AtomicBoolean();
+        long now = System.currentTimeMillis();
+        repository.addSession(DatabaseHelper.TYPE_FOCUS, now, now, 0, 0, () -> done.set(true));
+        await(done::get);
+        assertEquals(1, cache.size());
+
+        // 과거 범위는 그대로 캐시에서, 오늘이 포함된 범위는 DB 에서 새 값으로
+        assertSame(old, load(lastYearDay - 6, lastYearDay, StatsGranularity.DAY));
+        StatsSeries reloaded = load(today - 6, today, StatsGranularity.DAY);
+        assertNotSame(week, reloaded);
+        assertEquals(5, reloaded.focus[reloaded.size() - 1]);
+    }
+
+    @Test
+    public void cacheIsBounded_andEvictsLeastRecentlyUsed() {
+        StatsCache cache = repository.getCache();
+        StatsSeries first = load(today - 6, today, StatsGranularity.DAY);
+        for (int i = 1; i <= 20; i++) {
+            // 가장 처음 항목은 계속 사용하므로 축출되지 않아야 함
+            load(today - 6, today, StatsGranularity.DAY);
+            load(today - 6 - i, today - i, StatsGranularity.DAY);
+        }
+        assertTrue(cache.size() <= 16);
+        assertTrue(cache.getEvictionCount() > 0);
+        assertSame(first, load(today - 6, today, StatsGranularity.DAY));
+    }
+
+    private StatsSeries load(int fromDay, int toDay, StatsGranularity granularity) {
+        AtomicReference<StatsSeries> result = new AtomicReference<>();
+        repository.loadStats(fromDay, toDay, granularity, (stats, version) -> result.set(stats));
+        await(() -> result.get() != null);
+        return result.get();
+    }
+
+    private static long noonOf(int day) {
+        return day * EpochDays.MILLIS_PER_DAY + 12 * 60 * 60 * 1000L
+                - TimeZone.getDefault().getOffset(day * EpochDays.MILLIS_PER_DAY);
+    }
+
+    // 백그라운드 작업이 메인 스레드로 결과를 보낼 때까지 메인 루퍼를 돌림
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("timed out");
+            }
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.pomodorotimerapp.data;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 범위 초기화 표시: 적용 시간(기록 양과 무관), 조회/내보내기가 표시를 따르는지, 실행 취소, 실제 삭제와 VACUUM.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StatsResetTest {
+    private static final String NAME = "reset.db";
+    private static final int SESSIONS = 50_000;
+    private static final long MINUTE = 60 * 1000L;
+    // 2024-01-01 00:00 UTC 부근, 세션 간격 20분이면 5만 개가 약 1.9년에 걸침
+    private static final long FIRST_START = 1_704_067_200_000L;
+    // 5만 세션이 있어도 초기화 표시 추가는 행 하나 삽입이므로 바로 끝나야 함
+    private static final long APPLY_BUDGET_NANOS = 100_000_000;
+    private static final String[] TYPES = {
+            DatabaseHelper.TYPE_FOCUS, DatabaseHelper.TYPE_BREAK, DatabaseHelper.TYPE_FOCUS, DatabaseHelper.TYPE_LONG_BREAK
+    };
+
+    private Context context;
+    private DatabaseHelper helper;
+    private int firstDay;
+    private int lastDay;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(NAME);
+        // VACUUM 으로 파일이 줄어드는지 보려고 파일 DB 사용
+        helper = new DatabaseHelper(context, NAME);
+        helper.runInTransaction(() -> {
+            for (int i = 0; i < SESSIONS; i++) {
+                long start = FIRST_START + i * 20 * MINUTE;
+                helper.addSession(TYPES[i % TYPES.length], start, start + 15 * MINUTE, 25 * MINUTE, 15 * MINUTE);
+            }
+        });
+        firstDay = EpochDays.fromMillis(FIRST_START);
+        lastDay = EpochDays.fromMillis(FIRST_START + SESSIONS * 20 * MINUTE);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(NAME);
+    }
+
+    @Test
+    public void resetRange_hidesRangeImmediately_andPurgeKeepsSameResults() throws IOException {
+        int resetFrom = firstDay + 100;
+        int resetTo = firstDay + 300;
+        StatsSeries before = helper.getStats(firstDay, lastDay, StatsGranularity.DAY);
+
+        long start = System.nanoTime();
+        helper.addTombstone(resetFrom, resetTo);
+        long applyNanos = System.nanoTime() - start;
+        assertTrue("apply took " + applyNanos + " ns", applyNanos < APPLY_BUDGET_NANOS);
+
+        // 범위 안의 날은 사라지고, 밖의 날은 그대로
+        StatsSeries hidden = helper.getStats(firstDay, lastDay, StatsGranularity.DAY);
+        for (int i = 0; i < hidden.size(); i++) {
+            int day = hidden.epochDays[i];
+            assertTrue(day < resetFrom || day > resetTo);
+            int index = before.indexOf(day);
+            assertEquals(before.focus[index], hidden.focus[i]);
+            assertEquals(before.breaks[index], hidden.breaks[i]);
+        }
+        assertEquals(before.size() - (resetTo - resetFrom + 1), hidden.size());
+
+        // 초기화 후 범위 안에 기록된 세션은 보임
+        int recordedDay = resetFrom + 50;
+        long end = noonOf(recordedDay);
+        helper.addSession(DatabaseHelper.TYPE_FOCUS, end - 25 * MINUTE, end, 25 * MINUTE, 25 * MINUTE);
+        StatsSeries recorded = helper.getStats(recordedDay, recordedDay, StatsGranularity.DAY);
+        assertEquals(1, recorded.size());
+        assertEquals(1, recorded.focus[0]);
+        assertEquals(0, recorded.breaks[0]);
+
+        // 롤업 단위도 표시를 따름 (롤업 테이블 대신 일별 통계를 합침)
+        StatsSeries[] beforePurge = new StatsSeries[StatsGranularity.values().length];
+        for (StatsGranularity granularity : StatsGranularity.values()) {
+            beforePurge[granularity.ordinal()] = helper.getStats(firstDay, lastDay, granularity);
+        }
+        assertEquals(hidden.totalFocus() + 1, beforePurge[StatsGranularity.WEEK.ordinal()].totalFocus());
+        assertEquals(hidden.totalFocus() + 1, beforePurge[StatsGranularity.YEAR.ordinal()].totalFocus());
+
+        // 내보내기도 가려진 세션과 날짜를 빼고 씀
+        StatsBackup.Result exported = StatsBackup.export(helper, new StringWriter(), StatsBackup.Format.CSV);
+        long visibleSessions = hidden.totalFocus() + hidden.totalBreaks() + hidden.totalLongBreaks() + 1;
+        assertEquals(visibleSessions, exported.sessions);
+
+        long pagesBefore = pageCount();
+        assertEquals(1, helper.purgeTombstones(Long.MAX_VALUE));
+        long pagesAfter = pageCount();
+
+        // 실제로 지운 뒤에도 (이제 롤업 테이블에서 읽는) 조회 결과는 같음
+        for (StatsGranularity granularity : StatsGranularity.values()) {
+            assertSameSeries(granularity.name(), beforePurge[granularity.ordinal()],
+                    helper.getStats(firstDay, lastDay, granularity));
+        }
+        assertEquals(visibleSessions, DatabaseUtils.queryNumEntries(helper.getReadableDatabase(), "sessions"));
+        assertTrue("pages " + pagesBefore + " -> " + pagesAfter, pagesAfter < pagesBefore);
+        assertEquals(0, helper.purgeTombstones(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void undo_restoresEverything_andPurgeSkipsRecentResets() {
+        StatsSeries before = helper.getStats(firstDay, lastDay, StatsGranularity.MONTH);
+
+        long resetId = helper.addTombstone(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertTrue(helper.getStats(firstDay, lastDay, StatsGranularity.MONTH).isEmpty());
+        assertTrue(helper.getDailyStats(firstDay, lastDay).isEmpty());
+
+        // 실행 취소 기간 안의 표시는 정리 대상이 아님
+        assertEquals(0, helper.purgeTombstones(System.currentTimeMillis() - StatsRepository.UNDO_WINDOW_MS));
+
+        assertTrue(helper.removeTombstone(resetId));
+        assertSameSeries("undo", before, helper.getStats(firstDay, lastDay, StatsGranularity.MONTH));
+        assertFalse(helper.removeTombstone(resetId));
+    }
+
+    @Test
+    public void weekBucketsBeforeEpoch_matchBetweenRollupAndTombstoneFallback() {
+        DatabaseHelper memory = new DatabaseHelper(context, null);
+        try {
+            // 1969-12-12 ~ 1969-12-31 (epoch day 가 음수), 하루에 집중 1회
+            for (int day = -20; day <= -1; day++) {
+                long end = noonOf(day);
+                memory.addSession(DatabaseHelper.TYPE_FOCUS, end - 25 * MINUTE, end, 25 * MINUTE, 25 * MINUTE);
+            }
+
+            // 롤업 테이블: 월요일 시작 주 4개 (1969-12-08, 12-15, 12-22, 12-29)
+            StatsSeries rollup = memory.getStats(-30, 0, StatsGranularity.WEEK);
+            assertEquals(4, rollup.size());
+            int[] expectedFocus = {3, 7, 7, 3};
+            for (int i = 0; i < rollup.size(); i++) {
+                assertEquals(StatsGranularity.WEEK.bucketOf(rollup.epochDays[i]), rollup.epochDays[i]);
+                assertEquals(expectedFocus[i], rollup.focus[i]);
+            }
+
+            // 세션이 없는 날을 가리는 표시가 생기면 같은 범위를 일별 통계와 StatsSeries.rollUp 으로 계산
+            memory.addTombstone(-30, -30);
+            assertSameSeries("fallback", rollup, memory.getStats(-30, 0, StatsGranularity.WEEK));
+        } finally {
+            memory.close();
+        }
+    }
+
+    private long pageCount() {
+        return DatabaseUtils.longForQuery(helper.getReadableDatabase(), "PRAGMA page_count", null);
+    }
+
+    private static long noonOf(int epochDay) {
+        long midnight = epochDay * EpochDays.MILLIS_PER_DAY;
+        long noon = midnight + 12 * 60 * MINUTE - TimeZone.getDefault().getOffset(midnight);
+        assertEquals(epochDay, EpochDays.fromMillis(noon));
+        return noon;
+    }
+
+    private static void assertSameSeries(String message, StatsSeries expected, StatsSeries actual) {
+        assertEquals(message, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(message, expected.epochDays[i], actual.epochDays[i]);
+            assertEquals(message, expected.focus[i], actual.focus[i]);
+            assertEquals(message, expected.breaks[i], actual.breaks[i]);
+            assertEquals(message, expected.longBreaks[i], actual.longBreaks[i]);
+        }
+    }
+}
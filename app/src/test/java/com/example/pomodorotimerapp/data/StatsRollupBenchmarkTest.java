@@ -0,0 +1,98 @@
+package com.example.pomodorotimerapp.data;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 5년치 합성 데이터에서 일 단위 조회와 롤업 조회의 읽는 행 수 / 시간 비교.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StatsRollupBenchmarkTest {
+    private static final String NAME = "rollup-bench.db";
+    private static final int YEARS = 5;
+    private static final int ITERATIONS = 50;
+
+    private Context context;
+    private DatabaseHelper helper;
+    private int firstDay;
+    private int lastDay;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(NAME);
+        helper = new DatabaseHelper(context, NAME);
+
+        // 하루에 집중 8회, 휴식 6회, 긴 휴식 2회
+        lastDay = EpochDays.today();
+        firstDay = lastDay - YEARS * 365 + 1;
+        SQLiteDatabase db = helper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (int day = firstDay; day <= lastDay; day++) {
+                long noon = day * EpochDays.MILLIS_PER_DAY + 12 * 60 * 60 * 1000L
+                        - TimeZone.getDefault().getOffset(day * EpochDays.MILLIS_PER_DAY);
+                for (int i = 0; i < 16; i++) {
+                    String type = i < 8 ? DatabaseHelper.TYPE_FOCUS : i < 14 ? DatabaseHelper.TYPE_BREAK : DatabaseHelper.TYPE_LONG_BREAK;
+                    helper.addSession(type, noon - 1000, noon, 1000, 1000);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(NAME);
+    }
+
+    @Test
+    public void rollupsMatchDailyTotals_andReadFewerRows() {
+        int yearStart = lastDay - 364;
+        int expectedFocus = 8 * (lastDay - firstDay + 1);
+        // 1년 범위 조회가 읽는 최대 행 수 (DAY, WEEK, MONTH, YEAR 순, 범위가 달력 경계에 걸치는 경우 포함)
+        int[] maxRows = {365, 54, 13, 2};
+        long[] perQuery = new long[maxRows.length];
+
+        for (StatsGranularity granularity : StatsGranularity.values()) {
+            StatsSeries all = helper.getStats(firstDay, lastDay, granularity);
+            assertEquals(granularity.name(), expectedFocus, all.totalFocus());
+
+            long start = System.nanoTime();
+            int rows = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                rows = helper.getStats(yearStart, lastDay, granularity).size();
+            }
+            perQuery[granularity.ordinal()] = (System.nanoTime() - start) / ITERATIONS;
+            assertTrue(granularity + " rows " + rows, rows <= maxRows[granularity.ordinal()]);
+        }
+
+        // 롤업 테이블에서 읽는 단위는 일별 365 행을 읽는 것보다 빠름
+        long dayQuery = perQuery[StatsGranularity.DAY.ordinal()];
+        for (StatsGranularity granularity : new StatsGranularity[]{
+                StatsGranularity.WEEK, StatsGranularity.MONTH, StatsGranularity.YEAR}) {
+            long query = perQuery[granularity.ordinal()];
+            assertTrue(String.format("1-year %s: %,d ns/query, DAY: %,d ns/query", granularity, query, dayQuery),
+                    query < dayQuery);
+        }
+        // 5 x 365 일은 오늘 날짜에 따라 달력상 5년 또는 6년에 걸침
+        int years = EpochDays.year(lastDay) - EpochDays.year(firstDay) + 1;
+        assertEquals(years, helper.getStats(firstDay, lastDay, StatsGranularity.YEAR).size());
+    }
+}
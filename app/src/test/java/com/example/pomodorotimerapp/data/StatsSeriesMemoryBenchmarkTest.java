@@ -0,0 +1,165 @@
+package com.example.pomodorotimerapp.data;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * 5년치 일별 통계를 DailyStats 목록과 StatsSeries 로 담을 때의 하루당 메모리 비교.
+ * 측정은 같은 값으로 두 구조를 만드는 동안 스레드가 할당한 바이트 수.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StatsSeriesMemoryBenchmarkTest {
+    private static final String NAME = "series-bench.db";
+    private static final int DAYS = 5 * 365;
+    private static final int ROUNDS = 20;
+
+    private Context context;
+    private DatabaseHelper helper;
+    private int firstDay;
+    private int lastDay;
+    // 결과가 최적화로 사라지지 않도록 보관
+    private Object sink;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(NAME);
+        helper = new DatabaseHelper(context, NAME);
+
+        lastDay = EpochDays.today();
+        firstDay = lastDay - DAYS + 1;
+        SQLiteDatabase db = helper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (int day = firstDay; day <= lastDay; day++) {
+                long noon = day * EpochDays.MILLIS_PER_DAY + 12 * 60 * 60 * 1000L
+                        - TimeZone.getDefault().getOffset(day * EpochDays.MILLIS_PER_DAY);
+                // 날마다 횟수가 달라지도록 요일에 따라 1~7회
+                for (int i = 0; i <= Math.floorMod(day, 7); i++) {
+                    helper.addSession(DatabaseHelper.TYPE_FOCUS, noon - 1000, noon, 1000, 1000);
+                    helper.addSession(DatabaseHelper.TYPE_BREAK, noon - 1000, noon, 1000, 1000);
+                }
+                helper.addSession(DatabaseHelper.TYPE_LONG_BREAK, noon - 1000, noon, 1000, 1000);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+        context.deleteDatabase(NAME);
+    }
+
+    @Test
+    public void seriesMatchesDailyStats() {
+        List<DatabaseHelper.DailyStats> list = helper.getDailyStats(firstDay, lastDay);
+        StatsSeries series = helper.getStats(firstDay, lastDay, StatsGranularity.DAY);
+
+        assertEquals(DAYS, series.size());
+        assertEquals(list.size(), series.size());
+        for (int i = 0; i < list.size(); i++) {
+            DatabaseHelper.DailyStats stats = list.get(i);
+            assertEquals(stats.epochDay, series.epochDays[i]);
+            assertEquals(stats.focusCount, series.focus[i]);
+            assertEquals(stats.breakCount, series.breaks[i]);
+            assertEquals(stats.longBreakCount, series.longBreaks[i]);
+        }
+        assertEquals(list.size() - 1, series.indexOf(lastDay));
+    }
+
+    @Test
+    public void plusSession_updatesOrInsertsRow() {
+        StatsSeries series = helper.getStats(lastDay - 6, lastDay, StatsGranularity.DAY);
+        int focus = series.focus[series.size() - 1];
+
+        StatsSeries updated = series.plusSession(lastDay, DatabaseHelper.TYPE_FOCUS);
+        assertEquals(series.size(), updated.size());
+        assertEquals(focus + 1, updated.focus[updated.size() - 1]);
+        assertEquals(focus, series.focus[series.size() - 1]);
+
+        StatsSeries inserted = series.plusSession(lastDay + 1, DatabaseHelper.TYPE_BREAK);
+        assertEquals(series.size() + 1, inserted.size());
+        assertEquals(lastDay + 1, inserted.epochDays[inserted.size() - 1]);
+        assertEquals(1, inserted.breaks[inserted.size() - 1]);
+        assertEquals(0, inserted.focus[inserted.size() - 1]);
+    }
+
+    @Test
+    public void bytesPerDay_series_vs_dailyStatsList() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        StatsSeries source = helper.getStats(firstDay, lastDay, StatsGranularity.DAY);
+        // JIT 워밍업
+        buildList(source);
+        buildSeries(source);
+
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int r = 0; r < ROUNDS; r++) {
+            sink = buildList(source);
+        }
+        long listBytes = (threadBean.getThreadAllocatedBytes(threadId) - before) / ROUNDS;
+
+        before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int r = 0; r < ROUNDS; r++) {
+            sink = buildSeries(source);
+        }
+        long seriesBytes = (threadBean.getThreadAllocatedBytes(threadId) - before) / ROUNDS;
+
+        // 날짜당 int 4개뿐 (배열 헤더와 StatsSeries 객체는 5년치에 나누면 1 바이트도 안 됨)
+        assertTrue("StatsSeries: " + seriesBytes / DAYS + " bytes/day", seriesBytes / DAYS <= 4 * Integer.BYTES);
+        // 객체 헤더, 날짜 문자열, 목록 참조가 사라지므로 여러 배 작아야 함
+        assertTrue("DailyStats list: " + listBytes / DAYS + " bytes/day, StatsSeries: " + seriesBytes / DAYS
+                + " bytes/day", listBytes >= 3 * seriesBytes);
+    }
+
+    // 기존 방식: 행마다 DailyStats (날짜 문자열 포함) 를 만들어 ArrayList 에 담음
+    private static List<DatabaseHelper.DailyStats> buildList(StatsSeries source) {
+        List<DatabaseHelper.DailyStats> list = new ArrayList<>();
+        for (int i = 0; i < source.size(); i++) {
+            list.add(new DatabaseHelper.DailyStats(source.epochDays[i], source.focus[i],
+                    source.breaks[i], source.longBreaks[i]));
+        }
+        return list;
+    }
+
+    // StatsSeries.read 와 같은 방식: 행 수만큼의 배열 4개
+    private static StatsSeries buildSeries(StatsSeries source) {
+        int count = source.size();
+        int[] epochDays = new int[count];
+        int[] focus = new int[count];
+        int[] breaks = new int[count];
+        int[] longBreaks = new int[count];
+        for (int i = 0; i < count; i++) {
+            epochDays[i] = source.epochDays[i];
+            focus[i] = source.focus[i];
+            breaks[i] = source.breaks[i];
+            longBreaks[i] = source.longBreaks[i];
+        }
+        return new StatsSeries(epochDays, focus, breaks, longBreaks, count);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.pomodorotimerapp.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsTest {
+    private static final int THREADS = 4;
+    private static final int RECORDS_PER_THREAD = 250_000;
+
+    @Before
+    public void setUp() {
+        Metrics.reset();
+    }
+
+    @Test
+    public void concurrentRecords_areAllCounted() throws InterruptedException {
+        Histogram histogram = Metrics.histogram("test.concurrent", Metrics.UNIT_MICROS, Metrics.MICROS_BOUNDS);
+        Counter counter = Metrics.counter("test.concurrent_count");
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                    histogram.record(i % 2_000);
+                    counter.increment();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long total = (long) THREADS * RECORDS_PER_THREAD;
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(total, snapshot.count);
+        assertEquals(total, counter.get());
+        assertEquals(1_999, snapshot.max);
+        // 0~1999 균등 분포: 중앙값은 1000 구간, p99 는 2000 구간
+        assertEquals(1_000, snapshot.percentile(0.5));
+        assertEquals(1_999, snapshot.percentile(0.99));
+    }
+
+    @Test
+    public void sameName_returnsSameMetric_andResetKeepsRegistration() {
+        Histogram first = Metrics.histogram("test.shared", Metrics.UNIT_MILLIS, Metrics.MILLIS_BOUNDS);
+        Histogram second = Metrics.histogram("test.shared", Metrics.UNIT_MICROS, Metrics.MICROS_BOUNDS);
+        assertSame(first, second);
+
+        first.record(5_000);
+        assertEquals(1, first.snapshot().counts[Metrics.MILLIS_BOUNDS.length]);
+        Metrics.reset();
+        assertEquals(0, first.snapshot().count);
+        assertTrue(Metrics.histograms().contains(first));
+    }
+
+    @Test
+    public void jsonDump_containsCountersAndBuckets() {
+        Metrics.counter("test.json_count").add(3);
+        Histogram histogram = Metrics.histogram("test.json", Metrics.UNIT_COUNT, Metrics.FAN_OUT_BOUNDS);
+        histogram.record(1);
+        histogram.record(100);
+
+        String json = Metrics.toJson();
+        assertTrue(json.contains("\"test.json_count\":3"));
+        assertTrue(json.contains("\"test.json\":{\"unit\":\"count\",\"count\":2,\"sum\":101,\"max\":100,"));
+        assertTrue(json.contains("{\"le\":1,\"count\":1}"));
+        assertTrue(json.contains("{\"le\":null,\"count\":1}"));
+    }
+}
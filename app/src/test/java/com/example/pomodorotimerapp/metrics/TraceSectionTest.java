@@ -0,0 +1,67 @@
+package com.example.pomodorotimerapp.metrics;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TraceSectionTest {
+    private static final int ITERATIONS = 1000;
+
+    private final boolean defaultEnabled = TraceSection.isEnabled();
+    private final List<String> events = new ArrayList<>();
+    private final TraceSection.Sink recordingSink = new TraceSection.Sink() {
+        @Override
+        public void begin(String name) {
+            events.add("begin " + name);
+        }
+
+        @Override
+        public void end() {
+            events.add("end");
+        }
+    };
+
+    @After
+    public void tearDown() {
+        TraceSection.setEnabled(defaultEnabled);
+        TraceSection.setSink(null);
+    }
+
+    @Test
+    public void disabled_recordsNothing() {
+        TraceSection.setSink(recordingSink);
+        TraceSection.setEnabled(false);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            TraceSection.begin("HomeViewModel.onTick");
+            TraceSection.end();
+        }
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void enabled_forwardsBalancedSections() {
+        TraceSection.setSink(recordingSink);
+        TraceSection.setEnabled(true);
+
+        TraceSection.begin("StatisticsFragment.updateWeeklyStats");
+        try {
+            TraceSection.begin("StatisticsFragment.updateTextStats");
+            TraceSection.end();
+        } finally {
+            TraceSection.end();
+        }
+
+        assertEquals(4, events.size());
+        assertEquals("begin StatisticsFragment.updateWeeklyStats", events.get(0));
+        assertEquals("begin StatisticsFragment.updateTextStats", events.get(1));
+        assertEquals("end", events.get(2));
+        assertEquals("end", events.get(3));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.pomodorotimerapp.timer;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.os.Vibrator;
+import android.provider.Settings;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowMediaPlayer;
+import org.robolectric.shadows.util.DataSource;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+public class CompletionAlertTest {
+    private Context context;
+    private CompletionAlert alert;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        ShadowMediaPlayer.addMediaInfo(DataSource.toDataSource(context, Settings.System.DEFAULT_NOTIFICATION_URI),
+                new ShadowMediaPlayer.MediaInfo(500, 0));
+        alert = new CompletionAlert(context);
+    }
+
+    @Test
+    public void preparedAlert_playsAndVibratesAtDeadline() throws InterruptedException {
+        alert.prepare();
+        awaitPrepared();
+
+        long start = System.nanoTime();
+        alert.fire(SystemClock.elapsedRealtime());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(alert.isPlaying());
+        assertTrue(shadowOf(vibrator()).isVibrating());
+        // 준비된 플레이어는 재생 시작까지 지연 예산 안에 들어와야 함
+        assertTrue("fire took " + elapsedMs + " ms", elapsedMs <= CompletionAlert.LATENCY_BUDGET_MS);
+
+        // 재생 중에 세션이 멈추면 재생이 끝날 때까지 플레이어를 유지
+        alert.release();
+        assertTrue(alert.isPrepared());
+    }
+
+    @Test
+    public void unpreparedAlert_stillVibrates_andIdleReleaseClearsPlayer() throws InterruptedException {
+        alert.fire(SystemClock.elapsedRealtime());
+        assertFalse(alert.isPlaying());
+        assertTrue(shadowOf(vibrator()).isVibrating());
+
+        alert.prepare();
+        awaitPrepared();
+        alert.release();
+        assertFalse(alert.isPrepared());
+    }
+
+    private Vibrator vibrator() {
+        return (Vibrator) context.getSystemService(Context.VIBRATOR_SERVICE);
+    }
+
+    // 준비는 전용 스레드에서 일어나므로 끝날 때까지 대기
+    private void awaitPrepared() throws InterruptedException {
+        for (int i = 0; i < 200 && !alert.isPrepared(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(alert.isPrepared());
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.pomodorotimerapp.timer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimerEngineTest {
+    private static final long FOCUS = 25 * 60 * 1000;
+    private static final long BREAK = 5 * 60 * 1000;
+
+    private FakeScheduler scheduler;
+    private TimerEngine engine;
+    private final List<Long> ticks = new ArrayList<>();
+    private final List<Long> finishTimes = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        scheduler = new FakeScheduler();
+        engine = new TimerEngine(scheduler, scheduler);
+        engine.setListener(new TimerEngine.Listener() {
+            @Override
+            public void onTick(long remainingMillis) {
+                ticks.add(remainingMillis);
+            }
+
+            @Override
+            public void onFinish() {
+                finishTimes.add(scheduler.now());
+            }
+        });
+    }
+
+    @Test
+    public void ticksFallOnWholeSecondBoundaries() {
+        scheduler.time = 500;
+        engine.start(3000);
+        scheduler.runUntil(10_000);
+
+        assertEquals(2, ticks.size());
+        assertEquals(2000L, (long) ticks.get(0));
+        assertEquals(1000L, (long) ticks.get(1));
+        assertEquals(3500L, (long) finishTimes.get(0));
+    }
+
+    @Test
+    public void pauseAndResumeAreExactToTheMillisecond() {
+        engine.start(10_000);
+        scheduler.runUntil(3_337);
+        engine.pause();
+        assertEquals(6_663, engine.getRemainingMillis());
+
+        // 일시 정지 동안 시간이 흘러도 남은 시간은 그대로
+        scheduler.runUntil(60_000);
+        assertEquals(6_663, engine.getRemainingMillis());
+        assertTrue(finishTimes.isEmpty());
+
+        engine.resume();
+        scheduler.runUntil(120_000);
+        assertEquals(60_000L + 6_663L, (long) finishTimes.get(0));
+    }
+
+    @Test
+    public void fourChainedCyclesEndExactlyOnSchedule_despiteLateCallbacks() {
+        scheduler.jitter = new Random(42);
+        engine.setListener(new TimerEngine.Listener() {
+            int phase = 0;
+
+            @Override
+            public void onTick(long remainingMillis) {
+            }
+
+            @Override
+            public void onFinish() {
+                finishTimes.add(scheduler.now());
+                phase++;
+                // 집중/휴식을 4 사이클 번갈아 실행, 다음 세션은 이전 마감 시각에 이어서 시작
+                if (phase < 8) {
+                    engine.startAt(engine.getDeadline(), phase % 2 == 1 ? BREAK : FOCUS);
+                }
+            }
+        });
+
+        engine.start(FOCUS);
+        scheduler.runUntil(10 * 60 * 60 * 1000L);
+
+        assertEquals(8, finishTimes.size());
+        assertEquals(4 * (FOCUS + BREAK), engine.getDeadline());
+        // 콜백 지연은 각 세션 안에서만 보이고 누적되지 않는다
+        long lastFinish = finishTimes.get(7);
+        assertTrue(lastFinish - engine.getDeadline() < FakeScheduler.MAX_JITTER);
+        assertFalse(engine.isRunning());
+    }
+
+    @Test
+    public void withoutTicking_wakesOnlyAtDeadline_andResumesOnSecondBoundaries() {
+        // 화면이 보이는 25분 세션: 초마다 깨어남
+        engine.start(FOCUS);
+        scheduler.runUntil(FOCUS);
+        assertEquals(FOCUS / TimerEngine.TICK_INTERVAL, scheduler.runs);
+
+        // 화면이 없는 25분 세션: 마감 시각에 한 번만 깨어나 완료 처리
+        ticks.clear();
+        finishTimes.clear();
+        scheduler.runs = 0;
+        engine.setTicking(false);
+        engine.start(FOCUS);
+        scheduler.runUntil(2 * FOCUS);
+        assertTrue(ticks.isEmpty());
+        assertEquals(2 * FOCUS, (long) finishTimes.get(0));
+        assertEquals(1, scheduler.runs);
+
+        // 중간에 화면이 다시 보이면 다음 초 경계부터 tick 재개, 마감 시각은 그대로
+        finishTimes.clear();
+        engine.start(10_000);
+        scheduler.runUntil(2 * FOCUS + 4_300);
+        assertTrue(ticks.isEmpty());
+        engine.setTicking(true);
+        scheduler.runUntil(2 * FOCUS + 20_000);
+        assertEquals(5, ticks.size());
+        assertEquals(5_000L, (long) ticks.get(0));
+        assertEquals(2 * FOCUS + 10_000L, (long) finishTimes.get(0));
+    }
+
+    // 수동으로 시간을 진행시키는 시계 겸 스케줄러, jitter 가 설정되면 작업을 임의로 늦게 실행
+    static class FakeScheduler implements TimerEngine.Clock, TimerEngine.Scheduler {
+        static final int MAX_JITTER = 50;
+
+        long time = 0;
+        Random jitter;
+        // 실행한 예약 작업 수 (메인 스레드가 깨어난 횟수)
+        int runs;
+        private Runnable task;
+        private long taskTime;
+
+        @Override
+        public long now() {
+            return time;
+        }
+
+        @Override
+        public void scheduleAt(Runnable task, long time) {
+            this.task = task;
+            this.taskTime = jitter == null ? time : time + jitter.nextInt(MAX_JITTER);
+        }
+
+        @Override
+        public void cancel(Runnable task) {
+            if (this.task == task) {
+                this.task = null;
+            }
+        }
+
+        void runUntil(long end) {
+            while (task != null && Math.max(taskTime, time) <= end) {
+                time = Math.max(taskTime, time);
+                Runnable current = task;
+                task = null;
+                runs++;
+                current.run();
+            }
+            time = end;
+        }
+    }
+}
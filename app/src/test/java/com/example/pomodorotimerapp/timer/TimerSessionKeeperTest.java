@@ -0,0 +1,92 @@
+package com.example.pomodorotimerapp.timer;
+
+import android.app.AlarmManager;
+import android.app.Application;
+import android.content.Context;
+import android.content.Intent;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.pomodorotimerapp.data.DatabaseHelper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowAlarmManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+public class TimerSessionKeeperTest {
+    private static final long DEADLINE = 25 * 60 * 1000;
+
+    private Context context;
+    private AlarmManager alarmManager;
+    private TimerSessionKeeper keeper;
+    private final TimerSession session = new TimerSession(DatabaseHelper.TYPE_FOCUS,
+            1_000, 1_000 + DEADLINE, DEADLINE, DEADLINE, DEADLINE);
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        ShadowAlarmManager.setCanScheduleExactAlarms(true);
+        keeper = new TimerSessionKeeper(context);
+    }
+
+    @Test
+    public void startedSession_schedulesWakeupAlarmAtDeadline_andStartsForegroundService() {
+        keeper.onSessionStarted(session);
+
+        ShadowAlarmManager.ScheduledAlarm alarm = shadowOf(alarmManager).getNextScheduledAlarm();
+        assertNotNull(alarm);
+        assertEquals(AlarmManager.ELAPSED_REALTIME_WAKEUP, alarm.getType());
+        assertEquals(DEADLINE, alarm.getTriggerAtMs());
+
+        Intent service = shadowOf((Application) context).getNextStartedService();
+        assertEquals(TimerService.class.getName(), service.getComponent().getClassName());
+    }
+
+    @Test
+    public void stoppedSession_cancelsAlarm() {
+        keeper.onSessionStarted(session);
+        keeper.onSessionStopped();
+
+        assertNull(shadowOf(alarmManager).getNextScheduledAlarm());
+    }
+
+    @Test
+    public void completionIsClaimedOnlyOnce() {
+        keeper.onSessionStarted(session);
+
+        assertNotNull(keeper.claimCompletion(DEADLINE));
+        assertNull(keeper.claimCompletion(DEADLINE));
+    }
+
+    @Test
+    public void persistedSession_isClaimableAfterProcessRestart() throws InterruptedException {
+        keeper.onSessionStarted(session);
+        awaitIo(keeper);
+
+        // 새 프로세스에서 알람 리시버가 만드는 것과 같은 새 인스턴스
+        TimerSessionKeeper restarted = new TimerSessionKeeper(context);
+        TimerSession claimed = restarted.claimCompletion(DEADLINE);
+
+        assertNotNull(claimed);
+        assertEquals(DatabaseHelper.TYPE_FOCUS, claimed.type);
+        assertEquals(DEADLINE, claimed.actualDuration);
+    }
+
+    private static void awaitIo(TimerSessionKeeper keeper) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        keeper.runInBackground(latch::countDown);
+        latch.await(5, TimeUnit.SECONDS);
+    }
+}
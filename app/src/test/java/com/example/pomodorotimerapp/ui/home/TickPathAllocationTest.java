@@ -0,0 +1,64 @@
+package com.example.pomodorotimerapp.ui.home;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+// tick 경로(LongLiveValue 전달 + mm:ss 포맷)가 객체를 할당하지 않는지 확인
+public class TickPathAllocationTest {
+    private static final int TICKS = 100_000;
+
+    private final char[] buffer = new char[CountdownText.MAX_LENGTH];
+    private int length;
+
+    @Test
+    public void format_roundsUpToWholeSeconds() {
+        assertText("25:00", 25 * 60 * 1000);
+        assertText("24:59", 24 * 60 * 1000 + 59 * 1000);
+        assertText("00:01", 1);
+        assertText("00:00", 0);
+        assertText("00:00", -500);
+        assertText("120:00", 120 * 60 * 1000);
+    }
+
+    @Test
+    public void tickPath_doesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        LongLiveValue timeLeft = new LongLiveValue(0);
+        LongLiveValue.Observer observer = value -> length = CountdownText.format(value, buffer);
+        timeLeft.observeForever(observer);
+
+        // JIT 워밍업 후 측정
+        runTicks(timeLeft);
+        long threadId = Thread.currentThread().getId();
+        // 측정 호출 자체가 할당하는 양은 빼고 봄
+        long calibration = threadBean.getThreadAllocatedBytes(threadId);
+        long overhead = threadBean.getThreadAllocatedBytes(threadId) - calibration;
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        runTicks(timeLeft);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before - overhead;
+
+        assertEquals("bytes allocated over " + TICKS + " ticks", 0, allocated);
+    }
+
+    private void runTicks(LongLiveValue timeLeft) {
+        for (int i = TICKS; i > 0; i--) {
+            timeLeft.set(i * 1000L);
+        }
+    }
+
+    private void assertText(String expected, long millis) {
+        length = CountdownText.format(millis, buffer);
+        assertArrayEquals(expected.toCharArray(), Arrays.copyOf(buffer, length));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.pomodorotimerapp.ui.home;
+
+import android.app.Application;
+import android.os.Looper;
+
+import androidx.lifecycle.Observer;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.pomodorotimerapp.data.SettingsRepository;
+import com.example.pomodorotimerapp.data.TimerSettings;
+import com.example.pomodorotimerapp.ui.home.TimerState.Phase;
+import com.example.pomodorotimerapp.ui.home.TimerState.Status;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 전이마다 TimerState 가 한 번만 방출되고, diff 가 바뀐 항목만 가리키는지 확인.
+ * 이전에는 페이즈 전환 하나에 LiveData 8개에서 약 10번의 setValue 가 일어났다.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TimerStateTransitionTest {
+    private static final long FOCUS = 3000;
+    private static final long BREAK = 1000;
+    private static final long LONG_BREAK = 2000;
+
+    private HomeViewModel viewModel;
+    private final List<TimerState> states = new ArrayList<>();
+    private final Observer<TimerState> observer = states::add;
+    private int ticks;
+    private final LongLiveValue.Observer tickObserver = value -> ticks++;
+
+    @Before
+    public void setUp() {
+        Application application = ApplicationProvider.getApplicationContext();
+        SettingsRepository.getInstance(application).update(
+                new TimerSettings(FOCUS, BREAK, LONG_BREAK, 2, false, false));
+        viewModel = new HomeViewModel(application);
+        viewModel.getState().observeForever(observer);
+        viewModel.getTimeLeft().observeForever(tickObserver);
+        idle(0);
+        states.clear();
+    }
+
+    @After
+    public void tearDown() {
+        viewModel.getState().removeObserver(observer);
+        viewModel.getTimeLeft().removeObserver(tickObserver);
+        viewModel.resetTimer();
+        viewModel.onCleared();
+    }
+
+    @Test
+    public void eachTransition_emitsOneState_withOnlyChangedFields() {
+        TimerState ready = viewModel.getState().getValue();
+        assertEquals(Status.READY, ready.status);
+        assertEquals(FOCUS, ready.phaseDuration);
+
+        TimerState running = transition(viewModel::startTimer, TimerState.CHANGED_STATUS);
+        assertEquals(Status.RUNNING, running.status);
+
+        idle(1500);
+        TimerState paused = transition(viewModel::pauseTimer, TimerState.CHANGED_STATUS);
+        assertEquals(Status.PAUSED, paused.status);
+        assertEquals(1500, viewModel.getTimeLeft().get());
+
+        transition(viewModel::startTimer, TimerState.CHANGED_STATUS);
+
+        // 집중 종료 -> 휴식 대기 (모드와 상태가 한 번에 바뀜)
+        TimerState breakReady = transition(() -> idle(1500 + 100), TimerState.CHANGED_PHASE | TimerState.CHANGED_STATUS);
+        assertEquals(Phase.BREAK, breakReady.phase);
+        assertEquals(Status.READY, breakReady.status);
+        assertEquals(BREAK, viewModel.getTimeLeft().get());
+
+        transition(viewModel::startTimer, TimerState.CHANGED_STATUS);
+        // 휴식 종료 -> 다음 사이클 집중 대기
+        TimerState nextCycle = transition(() -> idle(BREAK + 100),
+                TimerState.CHANGED_PHASE | TimerState.CHANGED_STATUS | TimerState.CHANGED_CYCLE);
+        assertEquals(2, nextCycle.cycle);
+
+        transition(viewModel::startTimer, TimerState.CHANGED_STATUS);
+        // 마지막 사이클 집중 종료 -> 긴 휴식 선택 대기
+        TimerState awaiting = transition(() -> idle(FOCUS + 100), TimerState.CHANGED_STATUS);
+        assertEquals(Status.AWAITING_LONG_BREAK, awaiting.status);
+
+        TimerState longBreak = transition(viewModel::acceptLongBreak,
+                TimerState.CHANGED_PHASE | TimerState.CHANGED_STATUS);
+        assertEquals(Phase.LONG_BREAK, longBreak.phase);
+
+        // 긴 휴식 종료 -> 첫 사이클 집중 대기
+        TimerState restarted = transition(() -> idle(LONG_BREAK + 100), TimerState.CHANGED_ALL);
+        assertEquals(Phase.FOCUS, restarted.phase);
+        assertEquals(1, restarted.cycle);
+        assertEquals(FOCUS, viewModel.getTimeLeft().get());
+
+        // 이미 같은 상태면 리셋해도 아무것도 방출하지 않음
+        int ticksBefore = ticks;
+        viewModel.resetTimer();
+        assertEquals(0, states.size());
+        assertEquals(ticksBefore, ticks);
+    }
+
+    // 전이 하나를 실행하고 상태가 정확히 한 번 방출되었는지, 바뀐 항목이 expectedChanges 인지 확인
+    private TimerState transition(Runnable action, int expectedChanges) {
+        TimerState before = viewModel.getState().getValue();
+        states.clear();
+        action.run();
+        assertEquals(1, states.size());
+        TimerState after = states.get(0);
+        assertEquals(expectedChanges, after.diff(before));
+        states.clear();
+        return after;
+    }
+
+    private static void idle(long millis) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(millis));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.pomodorotimerapp.ui.statistics;
+
+import android.app.Application;
+import android.os.Looper;
+
+import androidx.lifecycle.Observer;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.pomodorotimerapp.data.DatabaseHelper;
+import com.example.pomodorotimerapp.data.StatsCache;
+import com.example.pomodorotimerapp.data.StatsRepository;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 통계 화면 재진입과 세션 추가 시 갱신 비용 측정.
+ * 화면은 액티비티 범위의 ViewModel 을 쓰므로, 다시 들어올 때마다 새 관찰자가 붙고 onResume 이 불린다.
+ * 저장소와 DB 가 싱글턴이므로 한 테스트 안에서 순서대로 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StatisticsRefreshBenchmarkTest {
+    private static final int ITERATIONS = 200;
+    private static final long TIMEOUT_MS = 5000;
+    // 바뀐 것이 없을 때 화면 재진입 한 번의 평균 허용 시간 (조회 없이 마지막 결과만 다시 전달)
+    private static final long RENAVIGATION_BUDGET_NANOS = 1_000_000;
+
+    @Test
+    public void unchangedData_skipsReload_andNewSession_isAppliedAsDelta() {
+        Application application = ApplicationProvider.getApplicationContext();
+        StatsRepository repository = StatsRepository.getInstance(application);
+
+        AtomicBoolean cleared = new AtomicBoolean();
+        repository.resetStats(() -> cleared.set(true));
+        await(cleared::get);
+
+        // 오늘 행이 이미 있어야 새 세션이 기존 막대 하나의 갱신이 됨
+        long now = System.currentTimeMillis();
+        addSessionAndWait(repository, DatabaseHelper.TYPE_FOCUS, now);
+        addSessionAndWait(repository, DatabaseHelper.TYPE_BREAK, now);
+
+        StatisticsViewModel viewModel = new StatisticsViewModel(application);
+        List<StatsUpdate> updates = new ArrayList<>();
+        Observer<StatsUpdate> observer = updates::add;
+        viewModel.getStats().observeForever(observer);
+
+        viewModel.loadStats();
+        await(() -> updates.size() == 1);
+        StatsUpdate initial = updates.get(0);
+        assertEquals(StatsUpdate.ALL, initial.changedIndex);
+        assertEquals(1, initial.stats.size());
+        assertEquals(1, initial.stats.focus[0]);
+
+        // 바뀐 것이 없을 때의 화면 재진입: 새 뷰가 관찰을 시작하고 onResume, 화면을 떠나면 관찰을 뗌
+        // 새 관찰자는 마지막 결과 하나만 받고, 캐시 조회나 DB 조회는 없어야 함
+        StatsCache cache = repository.getCache();
+        long lookupsBefore = cache.getHitCount() + cache.getMissCount();
+        long renavigationNanos = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            List<StatsUpdate> received = new ArrayList<>();
+            Observer<StatsUpdate> viewObserver = received::add;
+            long start = System.nanoTime();
+            viewModel.getStats().observeForever(viewObserver);
+            viewModel.loadStats();
+            shadowOf(Looper.getMainLooper()).idle();
+            renavigationNanos += System.nanoTime() - start;
+            viewModel.getStats().removeObserver(viewObserver);
+            assertEquals(1, received.size());
+            assertSame(initial, received.get(0));
+        }
+        assertEquals(lookupsBefore, cache.getHitCount() + cache.getMissCount());
+        assertTrue("re-navigation took " + renavigationNanos / ITERATIONS + " ns",
+                renavigationNanos / ITERATIONS < RENAVIGATION_BUDGET_NANOS);
+        assertEquals(1, updates.size());
+
+        // 세션 하나 추가: 다시 조회하지 않고 오늘 행만 바뀐 값으로 방출
+        repository.addSession(DatabaseHelper.TYPE_FOCUS, now, now, 0, 0);
+        await(() -> updates.size() == 2);
+        StatsUpdate delta = updates.get(1);
+        assertTrue(delta.changedIndex >= 0);
+        assertEquals(2, delta.stats.focus[delta.changedIndex]);
+        assertEquals(1, delta.stats.breaks[delta.changedIndex]);
+        // 이전에 방출한 계열은 그대로 (관찰자가 들고 있어도 안전)
+        assertEquals(1, initial.stats.focus[0]);
+
+        // 델타 반영 후에도 버전이 맞으므로 onResume 은 다시 조회하지 않음
+        viewModel.loadStats();
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(2, updates.size());
+
+        // 초기화는 전체 재조회로 이어짐
+        viewModel.resetStats();
+        await(() -> updates.size() == 3);
+        assertEquals(StatsUpdate.ALL, updates.get(2).changedIndex);
+        assertTrue(updates.get(2).stats.isEmpty());
+
+        // 화면이 멈춘 동안의 세션들은 LiveData 에서 하나로 합쳐지므로 다시 보일 때 전체로 전달
+        addSessionAndWait(repository, DatabaseHelper.TYPE_FOCUS, now);
+        await(() -> updates.size() == 4);
+        viewModel.getStats().removeObserver(observer);
+        addSessionAndWait(repository, DatabaseHelper.TYPE_FOCUS, now);
+        addSessionAndWait(repository, DatabaseHelper.TYPE_BREAK, now);
+        shadowOf(Looper.getMainLooper()).idle();
+        viewModel.getStats().observeForever(observer);
+        assertEquals(5, updates.size());
+        assertEquals(StatsUpdate.ALL, updates.get(4).changedIndex);
+        assertEquals(2, updates.get(4).stats.focus[0]);
+        assertEquals(1, updates.get(4).stats.breaks[0]);
+
+        viewModel.getStats().removeObserver(observer);
+    }
+
+    private static void addSessionAndWait(StatsRepository repository, String type, long time) {
+        AtomicBoolean done = new AtomicBoolean();
+        repository.addSession(type, time, time, 0, 0, () -> done.set(true));
+        await(done::get);
+    }
+
+    // 백그라운드 작업이 메인 스레드로 결과를 보낼 때까지 메인 루퍼를 돌림
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("timed out");
+            }
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.pomodorotimerapp.baselineprofile;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.Until;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * 앱 시작 → 홈 → 통계 → 설정 경로의 baseline profile 생성.
+ * ./gradlew :app:generateBaselineProfile 로 실행하면 결과가 app/src/release/generated/baselineProfiles 에 저장된다.
+ */
+@RunWith(AndroidJUnit4.class)
+@LargeTest
+public class BaselineProfileGenerator {
+    private static final String PACKAGE_NAME = "com.example.pomodorotimerapp";
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @Rule
+    public BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        baselineProfileRule.collect(PACKAGE_NAME, scope -> {
+            scope.pressHome();
+            scope.startActivityAndWait();
+
+            UiDevice device = scope.getDevice();
+            device.wait(Until.hasObject(By.res(PACKAGE_NAME, "text_timer")), TIMEOUT_MILLIS);
+            openFromDrawer(device, "Statistics", "radio_group_range");
+            openFromDrawer(device, "Setting", "button_save_settings");
+            return Unit.INSTANCE;
+        });
+    }
+
+    // 드로어를 열어 메뉴를 누르고 해당 화면이 뜰 때까지 대기
+    private static void openFromDrawer(UiDevice device, String menuTitle, String screenResId) {
+        device.findObject(By.desc("Open navigation drawer")).click();
+        device.wait(Until.hasObject(By.text(menuTitle)), TIMEOUT_MILLIS);
+        device.findObject(By.text(menuTitle)).click();
+        device.wait(Until.hasObject(By.res(PACKAGE_NAME, screenResId)), TIMEOUT_MILLIS);
+        device.waitForIdle();
+    }
+}
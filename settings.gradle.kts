@@ -21,4 +21,6 @@ dependencyResolutionManagement {
 }
 
 rootProject.name = "PomodoroTimerApp"
-include(":app")
\ No newline at end of file
+include(":app")
+include(":baselineprofile")
+include(":benchmark")
\ No newline at end of file